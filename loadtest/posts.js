@@ -0,0 +1,73 @@
+// GET /posts, POST /posts 최대 처리량 비교용 k6 스크립트 (서블릿 스택과 WebFlux 스택)
+//
+// 1) MVC:     ./gradlew bootRun
+//    WebFlux: ./gradlew bootRun --args='--spring.profiles.active=reactive'
+//    MVC + write-behind: ./gradlew bootRun --args='--calilog.write-behind.enabled=true'   (POST /posts가 202로 응답한다)
+// 2) k6 run -e BASE_URL=http://localhost:8080 loadtest/posts.js
+//
+// 초당 요청 수를 MAX_RPS까지 단계적으로 올린다. 실패율과 p99 임계치를 넘기기 직전의 단계를
+// 해당 모드의 최대 지속 처리량으로 본다.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const MAX_RPS = parseInt(__ENV.MAX_RPS || '4000');
+const STEP_DURATION = __ENV.STEP_DURATION || '30s';
+
+function steps() {
+    const stages = [];
+    for (let i = 1; i <= 8; i++) {
+        stages.push({ target: Math.round(MAX_RPS * i / 8), duration: '10s' });
+        stages.push({ target: Math.round(MAX_RPS * i / 8), duration: STEP_DURATION });
+    }
+    return stages;
+}
+
+function scenario(exec, share) {
+    return {
+        executor: 'ramping-arrival-rate',
+        exec: exec,
+        startRate: 10,
+        timeUnit: '1s',
+        preAllocatedVUs: 200,
+        maxVUs: 2000,
+        stages: steps().map(s => ({ target: Math.max(1, Math.round(s.target * share)), duration: s.duration })),
+    };
+}
+
+export const options = {
+    scenarios: {
+        read: scenario('readPosts', 0.8),
+        write: scenario('writePost', 0.2),
+    },
+    thresholds: {
+        'http_req_failed{scenario:read}': [{ threshold: 'rate<0.01', abortOnFail: true }],
+        'http_req_failed{scenario:write}': [{ threshold: 'rate<0.01', abortOnFail: true }],
+        'http_req_duration{scenario:read}': [{ threshold: 'p(99)<500', abortOnFail: true }],
+        'http_req_duration{scenario:write}': [{ threshold: 'p(99)<1000', abortOnFail: true }],
+    },
+};
+
+// /posts/bulk는 MVC에만 있으므로 두 스택 모두에 있는 POST /posts로 목록 데이터를 채운다.
+export function setup() {
+    for (let i = 0; i < 100; i++) {
+        http.post(`${BASE_URL}/posts`, JSON.stringify({ title: `제목 ${i}`, content: `내용 ${i}` }), {
+            headers: { 'Content-Type': 'application/json' },
+        });
+    }
+}
+
+export function readPosts() {
+    const res = http.get(`${BASE_URL}/posts?page=1&size=10`);
+    check(res, { 'status is 200': r => r.status === 200 });
+}
+
+export function writePost() {
+    const res = http.post(`${BASE_URL}/posts`, JSON.stringify({
+        title: `부하 테스트 ${__VU}-${__ITER}`,
+        content: '부하 테스트 내용',
+    }), {
+        headers: { 'Content-Type': 'application/json' },
+    });
+    check(res, { 'status is 200 or 202': r => r.status === 200 || r.status === 202 });
+}
@@ -0,0 +1,66 @@
+package com.calilog.moderation;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 금칙어 사전 크기에 따른 글 한 건 검사 비용
+ * Aho-Corasick이므로 dictionarySize가 커져도 결과가 거의 일정해야 한다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BannedWordFilterBenchmark {
+
+    @Param({"10", "1000", "10000", "100000"})
+    private int dictionarySize;
+
+    @Param({"2000"})
+    private int postLength;
+
+    private BannedWordMatcher matcher;
+    private String content;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+
+        List<String> words = new ArrayList<>(dictionarySize);
+        for (int i = 0; i < dictionarySize; i++) {
+            words.add(randomHangul(random, 2 + random.nextInt(4)));
+        }
+        matcher = BannedWordMatcher.of(words);
+
+        // 금칙어가 없는 최악의 경우(끝까지 훑어야 함)를 측정한다.
+        StringBuilder sb = new StringBuilder(postLength);
+        while (sb.length() < postLength) {
+            sb.append("오늘 키움 히어로즈가 고척돔에서 이겼다. ");
+        }
+        content = sb.substring(0, postLength);
+    }
+
+    @Benchmark
+    public Object normalizeAndMatch() {
+        return matcher.findFirst(TextNormalizer.normalize(content));
+    }
+
+    @Benchmark
+    public Object matchOnly() {
+        return matcher.findFirst(content);
+    }
+
+    private static String randomHangul(Random random, int length) {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append((char) ('가' + random.nextInt('힣' - '가' + 1)));
+        }
+        return sb.toString();
+    }
+}
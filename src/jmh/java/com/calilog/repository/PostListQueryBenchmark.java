@@ -0,0 +1,82 @@
+package com.calilog.repository;
+
+import com.calilog.domain.Post;
+import com.calilog.request.PostCursor;
+import com.calilog.request.PostSearch;
+import com.calilog.response.PostSummary;
+import com.calilog.support.BenchmarkContext;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * 테이블 크기와 페이지 깊이에 따른 목록 조회 비용 (embedded H2)
+ * offset 방식은 깊이에 비례해서 느려지고, 커서 방식은 깊이와 상관없이 일정해야 한다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PostListQueryBenchmark {
+
+    private static final int PAGE_SIZE = 10;
+
+    @Param({"10000", "100000"})
+    private int tableSize;
+
+    // 0.0 = 첫 페이지, 0.99 = 거의 마지막 페이지
+    @Param({"0.0", "0.5", "0.99"})
+    private double depth;
+
+    private ConfigurableApplicationContext context;
+    private PostRepository postRepository;
+    private PostSearch offsetSearch;
+    private PostSearch cursorSearch;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        postRepository = context.getBean(PostRepository.class);
+        TransactionTemplate transactionTemplate = context.getBean(TransactionTemplate.class);
+
+        List<Post> posts = IntStream.range(0, tableSize)
+                .mapToObj(i -> Post.builder()
+                        .title("title" + i)
+                        .content("content" + i)
+                        .build())
+                .toList();
+        List<Long> ids = transactionTemplate.execute(status -> postRepository.saveAllInBatches(posts, 1000));
+
+        int skipped = (int) ((tableSize - PAGE_SIZE) * depth);
+        offsetSearch = PostSearch.builder()
+                .page(skipped / PAGE_SIZE + 1)
+                .size(PAGE_SIZE)
+                .build();
+        // 커서 방식은 최신순이므로 같은 깊이에 해당하는 id를 커서로 쓴다.
+        cursorSearch = PostSearch.builder()
+                .after(PostCursor.encode(ids.get(ids.size() - 1 - skipped)))
+                .size(PAGE_SIZE)
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<PostSummary> offset() {
+        return postRepository.getList(offsetSearch);
+    }
+
+    @Benchmark
+    public List<PostSummary> cursor() {
+        return postRepository.getListByCursor(cursorSearch);
+    }
+}
@@ -0,0 +1,51 @@
+package com.calilog.response;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * 목록 응답 JSON 직렬화 비용
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PostResponseJsonBenchmark {
+
+    @Param({"10", "100"})
+    private int listSize;
+
+    @Param({"200", "5000"})
+    private int contentLength;
+
+    private ObjectMapper objectMapper;
+    private List<PostResponse> posts;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        String content = "가".repeat(contentLength);
+        posts = LongStream.rangeClosed(1, listSize)
+                .mapToObj(id -> PostResponse.builder()
+                        .id(id)
+                        .title("제목" + id)
+                        .content(content)
+                        .version(0L)
+                        .updatedAt(LocalDateTime.now())
+                        .build())
+                .toList();
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(posts);
+    }
+}
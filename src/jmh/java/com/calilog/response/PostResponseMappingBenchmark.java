@@ -0,0 +1,33 @@
+package com.calilog.response;
+
+import com.calilog.domain.Post;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PostResponseMappingBenchmark {
+
+    @Param({"100", "10000"})
+    private int contentLength;
+
+    private Post post;
+
+    @Setup
+    public void setUp() {
+        post = Post.builder()
+                .title("키움 히어로즈 우승")
+                .content("가".repeat(contentLength))
+                .build();
+    }
+
+    @Benchmark
+    public PostResponse from() {
+        return PostResponse.from(post);
+    }
+}
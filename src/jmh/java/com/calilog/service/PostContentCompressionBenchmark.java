@@ -0,0 +1,89 @@
+package com.calilog.service;
+
+import com.calilog.cache.PostCache;
+import com.calilog.domain.PostContentConverter;
+import com.calilog.response.PostResponse;
+import com.calilog.support.BenchmarkContext;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * 본문 압축 여부에 따른 getPost 비용 (캐시를 거치지 않는 DB 조회 + 본문 복원)
+ * 힙 할당량은 -prof gc 로 비교한다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PostContentCompressionBenchmark {
+
+    private static final long POST_ID = 1L;
+    private static final String[] WORDS = {
+            "키움", "히어로즈", "이정후", "타율", "안타", "홈런", "경기", "시즌", "MVP", "우승",
+            "오늘", "구장", "관중", "응원", "투수", "타자", "9회말", "역전", "승리", "기록"
+    };
+
+    @Param({"2000", "20000", "200000"})
+    private int contentLength;
+
+    @Param({"raw", "compressed"})
+    private String storage;
+
+    private ConfigurableApplicationContext context;
+    private PostService postService;
+    private PostCache postCache;
+    private String content;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        postService = context.getBean(PostService.class);
+        postCache = context.getBean(PostCache.class);
+        content = naturalText(contentLength);
+
+        byte[] stored = storage.equals("raw") ? rawFormat(content) : PostContentConverter.encode(content);
+        context.getBean(JdbcTemplate.class).update(
+                "insert into post (id, title, content, excerpt, version, updated_at) values (?, ?, ?, ?, 0, ?)",
+                POST_ID, "제목", stored, content.substring(0, 200), LocalDateTime.now());
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public PostResponse getPost() {
+        postCache.evict(POST_ID);
+        return postService.getPost(POST_ID);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return PostContentConverter.encode(content);
+    }
+
+    // 압축하지 않는 형식 (헤더 없는 UTF-8, 압축 도입 전 본문과 같다)
+    private static byte[] rawFormat(String content) {
+        return content.getBytes(UTF_8);
+    }
+
+    private static String naturalText(int length) {
+        Random random = new Random(42);
+        StringBuilder sb = new StringBuilder(length + 16);
+        while (sb.length() < length) {
+            sb.append(WORDS[random.nextInt(WORDS.length)]);
+            sb.append(random.nextInt(8) == 0 ? ". " : " ");
+        }
+        return sb.substring(0, length);
+    }
+}
@@ -0,0 +1,47 @@
+package com.calilog.service;
+
+import com.calilog.request.PostCreate;
+import com.calilog.support.BenchmarkContext;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 글 작성 한 건의 전체 비용 (금칙어 검사, insert, 커밋 후 이벤트 처리 포함)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PostWriteBenchmark {
+
+    @Param({"200", "5000"})
+    private int contentLength;
+
+    private ConfigurableApplicationContext context;
+    private PostService postService;
+    private PostCreate postCreate;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        postService = context.getBean(PostService.class);
+        postCreate = PostCreate.builder()
+                .title("키움 히어로즈 우승")
+                .content("가".repeat(contentLength))
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Long write() {
+        return postService.write(postCreate);
+    }
+}
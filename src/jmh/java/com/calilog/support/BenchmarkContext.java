@@ -0,0 +1,31 @@
+package com.calilog.support;
+
+import com.calilog.CalilogApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.UUID;
+
+/**
+ * 벤치마크용 스프링 컨텍스트
+ * 웹 서버 없이 벤치마크마다 새 H2 메모리 DB를 띄운다.
+ */
+public final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    public static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(CalilogApplication.class)
+                .web(WebApplicationType.NONE)
+                // application.yml 보다 우선하도록 커맨드라인 인자로 넘긴다.
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID(),
+                        "--spring.jpa.show-sql=false",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=warn",
+                        "--calilog.search.rebuild-on-startup=false"
+                );
+    }
+}
@@ -21,10 +21,18 @@ public class QPost extends EntityPathBase<Post> {
 
     public final StringPath content = createString("content");
 
+    public final StringPath excerpt = createString("excerpt");
+
     public final NumberPath<Long> id = createNumber("id", Long.class);
 
     public final StringPath title = createString("title");
 
+    public final DateTimePath<java.time.LocalDateTime> updatedAt = createDateTime("updatedAt", java.time.LocalDateTime.class);
+
+    public final NumberPath<Long> version = createNumber("version", Long.class);
+
+    public final NumberPath<Long> viewCount = createNumber("viewCount", Long.class);
+
     public QPost(String variable) {
         super(Post.class, forVariable(variable));
     }
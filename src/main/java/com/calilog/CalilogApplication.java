@@ -2,8 +2,10 @@ package com.calilog;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
 
-@SpringBootApplication
+// ConnectionFactory 빈이 있으면 DataSource 자동 설정이 빠지므로, R2DBC 연결은 ReactivePostRepository가 직접 만든다.
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
 public class CalilogApplication {
 
 	public static void main(String[] args) {
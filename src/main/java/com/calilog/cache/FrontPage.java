@@ -0,0 +1,18 @@
+package com.calilog.cache;
+
+import lombok.Getter;
+
+/**
+ * 이미 직렬화된 GET /posts 응답 한 페이지
+ */
+@Getter
+public class FrontPage {
+
+    private final byte[] body;
+    private final String eTag;
+
+    public FrontPage(byte[] body, String eTag) {
+        this.body = body;
+        this.eTag = eTag;
+    }
+}
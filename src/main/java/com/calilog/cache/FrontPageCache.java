@@ -0,0 +1,149 @@
+package com.calilog.cache;
+
+import com.calilog.event.PostChangedEvent;
+import com.calilog.repository.PostRepository;
+import com.calilog.request.PostSearch;
+import com.calilog.response.PostETag;
+import com.calilog.response.PostSummary;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * 첫 화면(GET /posts 앞쪽 몇 페이지)의 응답을 직렬화된 바이트로 들고 있다가 그대로 내려준다.
+ * 글이 바뀌면 바로 비워서 DB 조회로 넘기고, 잠시 모아서(debounce) 백그라운드에서 다시 만든다.
+ */
+@Slf4j
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class FrontPageCache {
+
+    private final PostRepository postRepository;
+    private final ObjectMapper objectMapper;
+    private final TaskScheduler taskScheduler;
+
+    @Value("${calilog.cache.front-page.pages:3}")
+    private int pageCount;
+
+    @Value("${calilog.cache.front-page.size:10}")
+    private int pageSize;
+
+    @Value("${calilog.cache.front-page.debounce:200ms}")
+    private Duration debounce;
+
+    // 조회는 잠금 없이 읽고, 교체는 아래 상태와 함께 this로 잠근다.
+    private volatile Map<Integer, FrontPage> pages = Map.of();
+
+    private long generation;
+    private ScheduledFuture<?> pendingRebuild;
+    private boolean rebuilding;
+    private boolean rebuildAgain;
+
+    public FrontPageCache(PostRepository postRepository, ObjectMapper objectMapper, TaskScheduler taskScheduler) {
+        this.postRepository = postRepository;
+        this.objectMapper = objectMapper;
+        this.taskScheduler = taskScheduler;
+    }
+
+    /**
+     * 캐시한 페이지가 아니거나 아직 다시 만들어지지 않았으면 null
+     */
+    public FrontPage get(PostSearch postSearch) {
+        if (postSearch.getLimit() != pageSize) {
+            return null;
+        }
+        return pages.get(Math.max(1, postSearch.getPage()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void invalidate(PostChangedEvent event) {
+        synchronized (this) {
+            generation++;
+            pages = Map.of();
+            if (rebuilding) {
+                rebuildAgain = true;
+            } else {
+                scheduleRebuild();
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void buildOnStartup() {
+        scheduleRebuild();
+    }
+
+    /**
+     * 캐시를 비우고 다음 변경 이벤트 전까지 다시 만들지 않는다.
+     */
+    public synchronized void clear() {
+        generation++;
+        pages = Map.of();
+        rebuildAgain = false;
+        if (pendingRebuild != null) {
+            pendingRebuild.cancel(false);
+            pendingRebuild = null;
+        }
+    }
+
+    public void rebuild() {
+        long startedGeneration;
+        synchronized (this) {
+            pendingRebuild = null;
+            rebuilding = true;
+            startedGeneration = generation;
+        }
+
+        Map<Integer, FrontPage> rebuilt = null;
+        try {
+            rebuilt = render();
+        } catch (RuntimeException | JsonProcessingException e) {
+            log.warn("첫 화면 캐시를 만들지 못했습니다. 다음 변경 때 다시 시도합니다.", e);
+        } finally {
+            synchronized (this) {
+                rebuilding = false;
+                // 만드는 사이에 글이 바뀌었으면 이번 결과는 버린다.
+                if (rebuilt != null && generation == startedGeneration) {
+                    pages = rebuilt;
+                }
+                if (rebuildAgain) {
+                    rebuildAgain = false;
+                    scheduleRebuild();
+                }
+            }
+        }
+    }
+
+    private Map<Integer, FrontPage> render() throws JsonProcessingException {
+        Map<Integer, FrontPage> rendered = new HashMap<>();
+        for (int page = 1; page <= pageCount; page++) {
+            List<PostSummary> posts = postRepository.getList(PostSearch.builder()
+                    .page(page)
+                    .size(pageSize)
+                    .build());
+            rendered.put(page, new FrontPage(objectMapper.writeValueAsBytes(posts), PostETag.of(posts)));
+        }
+        return Map.copyOf(rendered);
+    }
+
+    private void scheduleRebuild() {
+        if (pageCount <= 0 || pendingRebuild != null) {
+            return;
+        }
+        pendingRebuild = taskScheduler.schedule(this::rebuild, Instant.now().plus(debounce));
+    }
+}
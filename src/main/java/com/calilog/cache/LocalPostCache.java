@@ -0,0 +1,99 @@
+package com.calilog.cache;
+
+import com.calilog.response.PostResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 프로세스 내부 캐시 (Caffeine)
+ * maxSize를 넘으면 Caffeine이 고른 글부터, ttl이 지나면 저장 시점 기준으로 제거한다. 조회는 잠그지 않는다.
+ * evict 할 때마다 순번을 올려 글별로 남겨 두고(tombstone), 그보다 앞선 stamp로 들어온 put은 버린다.
+ * stamp/tombstone 확인과 put은 this로 잠근다. (캐시 미스와 무효화 때만 지나간다)
+ */
+public class LocalPostCache implements PostCache {
+
+    private final int maxSize;
+    private final Cache<Long, PostResponse> entries;
+    private final Map<Long, Long> tombstones;
+
+    // evict/clear 순번. tombstone이 maxSize를 넘어 밀려나면 그 순번보다 앞선 stamp는 모두 버린다.
+    private long sequence;
+    private long floor;
+
+    public LocalPostCache(int maxSize, Duration ttl) {
+        this.maxSize = maxSize;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.tombstones = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+                if (size() > LocalPostCache.this.maxSize) {
+                    floor = Math.max(floor, eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public Optional<PostResponse> get(Long postId) {
+        return Optional.ofNullable(entries.getIfPresent(postId));
+    }
+
+    @Override
+    public synchronized long stamp() {
+        return sequence;
+    }
+
+    @Override
+    public synchronized void put(PostResponse postResponse, long stamp) {
+        Long postId = postResponse.getId();
+        Long evictedAt = tombstones.get(postId);
+        if (stamp < floor || (evictedAt != null && stamp < evictedAt)) {
+            return;
+        }
+        // 늦게 도착한 조회가 더 새 버전을 덮어쓰지 않게 한다.
+        entries.asMap().compute(postId, (id, cached) -> cached != null && isNewer(cached, postResponse)
+                ? cached
+                : postResponse);
+    }
+
+    @Override
+    public synchronized void evict(Long postId) {
+        tombstones.remove(postId);
+        tombstones.put(postId, ++sequence);
+        entries.invalidate(postId);
+    }
+
+    @Override
+    public synchronized void clear() {
+        tombstones.clear();
+        floor = ++sequence;
+        entries.invalidateAll();
+    }
+
+    @Override
+    public PostCacheStats stats() {
+        CacheStats stats = entries.stats();
+        return PostCacheStats.builder()
+                .hits(stats.hitCount())
+                .misses(stats.missCount())
+                .evictions(stats.evictionCount())
+                .size(entries.estimatedSize())
+                .build();
+    }
+
+    private static boolean isNewer(PostResponse cached, PostResponse loaded) {
+        return cached.getVersion() != null && loaded.getVersion() != null && cached.getVersion() > loaded.getVersion();
+    }
+}
@@ -0,0 +1,31 @@
+package com.calilog.cache;
+
+import com.calilog.response.PostResponse;
+
+import java.util.Optional;
+
+/**
+ * 게시글 단 건 조회 결과 캐시
+ * 기본 구현은 {@link LocalPostCache}이며, 여러 노드가 공유해야 하면 Redis 등으로 구현체를 교체한다.
+ */
+public interface PostCache {
+
+    Optional<PostResponse> get(Long postId);
+
+    /**
+     * DB에서 읽기 전에 받아 두었다가 put에 넘긴다.
+     */
+    long stamp();
+
+    /**
+     * stamp를 받은 뒤에 같은 글이 evict(또는 clear) 되었으면 넣지 않는다.
+     * 수정 커밋 전에 읽기 시작한 조회가 무효화 이후에 이전 값을 캐시에 올리는 것을 막는다.
+     */
+    void put(PostResponse postResponse, long stamp);
+
+    void evict(Long postId);
+
+    void clear();
+
+    PostCacheStats stats();
+}
@@ -0,0 +1,22 @@
+package com.calilog.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * /actuator/postcache 로 캐시 적중률을 확인한다.
+ */
+@RequiredArgsConstructor
+@Component
+@Endpoint(id = "postcache")
+public class PostCacheEndpoint {
+
+    private final PostCache postCache;
+
+    @ReadOperation
+    public PostCacheStats stats() {
+        return postCache.stats();
+    }
+}
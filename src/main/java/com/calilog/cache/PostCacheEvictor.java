@@ -0,0 +1,40 @@
+package com.calilog.cache;
+
+import com.calilog.event.PostChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+
+@Component
+public class PostCacheEvictor {
+
+    private final PostCache postCache;
+    private final TaskScheduler taskScheduler;
+
+    // replica로 읽는 경우, 지운 직후 다른 요청이 replica의 이전 값을 다시 캐시에 올릴 수 있다. 복제 지연이 지난 뒤 한 번 더 지운다.
+    @Value("${calilog.datasource.replica.max-lag:0s}")
+    private Duration replicaMaxLag;
+
+    public PostCacheEvictor(PostCache postCache, TaskScheduler taskScheduler) {
+        this.postCache = postCache;
+        this.taskScheduler = taskScheduler;
+    }
+
+    // 커밋 전에 지우면 다른 요청이 이전 값을 다시 캐시에 올릴 수 있으므로 커밋 이후에 지운다.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void evict(PostChangedEvent event) {
+        if (event.getType() == PostChangedEvent.Type.CREATED) {
+            return;
+        }
+        event.getPostIds().forEach(postCache::evict);
+
+        if (!replicaMaxLag.isZero()) {
+            taskScheduler.schedule(() -> event.getPostIds().forEach(postCache::evict),
+                    Instant.now().plus(replicaMaxLag));
+        }
+    }
+}
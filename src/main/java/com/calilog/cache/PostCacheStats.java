@@ -0,0 +1,21 @@
+package com.calilog.cache;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+public class PostCacheStats {
+
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final long size;
+
+    @Builder
+    public PostCacheStats(long hits, long misses, long evictions, long size) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.size = size;
+    }
+}
@@ -0,0 +1,56 @@
+package com.calilog.cache;
+
+import com.calilog.event.PostChangedEvent;
+import com.calilog.repository.PostRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 게시글 수를 메모리에 들고 있다가 작성/삭제 이벤트로 증감한다.
+ * 다른 노드에서의 변경이나 누락된 이벤트로 생기는 오차는 주기적으로 실제 count와 맞춘다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class PostCounter {
+
+    private static final long UNKNOWN = -1L;
+
+    private final PostRepository postRepository;
+    private final AtomicLong count = new AtomicLong(UNKNOWN);
+
+    public long get() {
+        long current = count.get();
+        if (current == UNKNOWN) {
+            return reconcile();
+        }
+        return current;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void apply(PostChangedEvent event) {
+        long delta = switch (event.getType()) {
+            case CREATED -> event.getPostIds().size();
+            case DELETED -> -event.getPostIds().size();
+            case EDITED -> 0;
+        };
+        if (delta != 0) {
+            count.getAndUpdate(current -> current == UNKNOWN ? UNKNOWN : Math.max(0, current + delta));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${calilog.post-count.reconcile-interval:300000}")
+    public long reconcile() {
+        long actual = postRepository.count();
+        long previous = count.getAndSet(actual);
+        if (previous != UNKNOWN && previous != actual) {
+            log.info("게시글 수 보정: {} -> {}", previous, actual);
+        }
+        return actual;
+    }
+}
@@ -0,0 +1,83 @@
+package com.calilog.cache;
+
+import com.calilog.response.PostResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 캐시에 없는 같은 글을 여러 요청이 동시에 읽으면 DB 조회는 먼저 온 요청 하나만 하고, 나머지는 그 결과를 기다려 같이 쓴다. (single-flight)
+ * 한 글을 기다리는 요청이 maxWaiters를 넘으면 넘친 요청은 기다리지 않고 직접 읽는다.
+ * 처리 결과는 calilog.post.load{result=loaded|coalesced|overflow} 메트릭으로 본다.
+ */
+@Component
+public class PostLoadCoalescer {
+
+    private final ConcurrentMap<Long, Flight> flights = new ConcurrentHashMap<>();
+    private final int maxWaiters;
+
+    private final Counter loaded;
+    private final Counter coalesced;
+    private final Counter overflow;
+
+    public PostLoadCoalescer(MeterRegistry meterRegistry,
+                             @Value("${calilog.cache.post.coalesce.max-waiters:1000}") int maxWaiters) {
+        this.maxWaiters = maxWaiters;
+        this.loaded = meterRegistry.counter("calilog.post.load", "result", "loaded");
+        this.coalesced = meterRegistry.counter("calilog.post.load", "result", "coalesced");
+        this.overflow = meterRegistry.counter("calilog.post.load", "result", "overflow");
+    }
+
+    /**
+     * 같은 postId로 진행 중인 조회가 있으면 그 결과(예외 포함)를 기다리고, 없으면 loader로 직접 읽는다.
+     */
+    public PostResponse load(Long postId, Supplier<PostResponse> loader) {
+        Flight own = new Flight();
+        Flight flight = flights.putIfAbsent(postId, own);
+        if (flight == null) {
+            return lead(postId, own, loader);
+        }
+
+        if (flight.waiters.incrementAndGet() > maxWaiters) {
+            overflow.increment();
+            return loader.get();
+        }
+        coalesced.increment();
+        try {
+            return flight.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private PostResponse lead(Long postId, Flight flight, Supplier<PostResponse> loader) {
+        loaded.increment();
+        try {
+            PostResponse postResponse = loader.get();
+            flight.result.complete(postResponse);
+            return postResponse;
+        } catch (Throwable e) {
+            flight.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(postId, flight);
+        }
+    }
+
+    private static class Flight {
+
+        private final CompletableFuture<PostResponse> result = new CompletableFuture<>();
+        private final AtomicInteger waiters = new AtomicInteger();
+    }
+}
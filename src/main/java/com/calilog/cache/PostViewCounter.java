@@ -0,0 +1,177 @@
+package com.calilog.cache;
+
+import com.calilog.ranking.PopularPostsUpdater;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 조회수를 글마다 메모리(LongAdder)에 모았다가 flush-interval마다 배치 UPDATE로 한 번에 더한다.
+ * 인기 글을 조회할 때마다 UPDATE 하면 같은 행의 잠금을 기다리느라 요청이 줄을 서기 때문이다.
+ * 프로세스가 비정상 종료되면 마지막 flush 이후(최대 flush-interval)의 조회수를 잃는다. 정상 종료 시에는 남은 값을 저장한다.
+ */
+@Slf4j
+@Component
+public class PostViewCounter {
+
+    private static final int REFRESH_CHUNK_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PopularPostsUpdater popularPostsUpdater;
+    private final ConcurrentMap<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    // 지난 flush에서 맵에서 뺀 항목. 빼기 직전에 항목을 잡은 요청의 증가분을 다음 flush에서 마저 옮긴다.
+    private List<Map.Entry<Long, Entry>> retired = new ArrayList<>();
+
+    // 맵에서 뺀 글의 마지막으로 맞춘 조회수. 캐시된 PostResponse의 조회수는 오래되었을 수 있어
+    // 다시 조회될 때 이 값보다 작은 값으로 시작하지 않게 한다. (retained개까지, 오래 안 본 글부터 버린다)
+    private final Map<Long, Long> synced;
+
+    // 종료 시 마지막 flush가 인기 글 순위와 그 스냅샷에 반영되도록 이벤트 대신 직접 넘긴다.
+    // (이 빈이 PopularPostsUpdater에 의존하므로 종료할 때 이 빈이 먼저 정리된다)
+    public PostViewCounter(JdbcTemplate jdbcTemplate, PopularPostsUpdater popularPostsUpdater,
+                           @Value("${calilog.view-count.retained:10000}") int retained) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.popularPostsUpdater = popularPostsUpdater;
+        this.synced = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+                return size() > retained;
+            }
+        });
+    }
+
+    /**
+     * 조회수를 1 올리고 현재 조회수를 돌려준다.
+     * persistedCount는 처음 보는 글일 때 시작값으로 쓰고, 이후에는 flush 때 DB 값으로 맞춘다.
+     */
+    public long increment(Long postId, long persistedCount) {
+        Entry entry = entries.computeIfAbsent(postId, id -> new Entry(seed(id, persistedCount)));
+        entry.pending.increment();
+        return entry.current();
+    }
+
+    public long get(Long postId, long persistedCount) {
+        Entry entry = entries.get(postId);
+        return entry == null ? seed(postId, persistedCount) : entry.current();
+    }
+
+    private long seed(Long postId, long persistedCount) {
+        Long last = synced.get(postId);
+        return last == null ? persistedCount : Math.max(last, persistedCount);
+    }
+
+    @Scheduled(fixedDelayString = "${calilog.view-count.flush-interval:1000}")
+    public synchronized void flush() {
+        drainRetired();
+
+        Map<Long, Long> deltas = new HashMap<>();
+        List<Map.Entry<Long, Entry>> idle = new ArrayList<>();
+        for (Map.Entry<Long, Entry> mapEntry : entries.entrySet()) {
+            Entry entry = mapEntry.getValue();
+            long delta = entry.pending.sumThenReset();
+            if (delta == 0) {
+                idle.add(mapEntry);
+                continue;
+            }
+            // 화면에 보이는 값(base + pending)이 줄지 않도록 DB에 쓰기 전에 base로 먼저 옮긴다.
+            entry.base.addAndGet(delta);
+            deltas.put(mapEntry.getKey(), delta);
+        }
+
+        // 한 주기 동안 조회가 없던 글은 메모리에서 뺀다.
+        for (Map.Entry<Long, Entry> mapEntry : idle) {
+            if (entries.remove(mapEntry.getKey(), mapEntry.getValue())) {
+                synced.put(mapEntry.getKey(), mapEntry.getValue().base.get());
+                retired.add(mapEntry);
+            }
+        }
+
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> updates = new ArrayList<>(deltas.size());
+        deltas.forEach((postId, delta) -> updates.add(new Object[]{delta, postId}));
+        try {
+            jdbcTemplate.batchUpdate("update post set view_count = view_count + ? where id = ?", updates);
+        } catch (DataAccessException e) {
+            log.warn("조회수 {}건을 저장하지 못했습니다. 다음 주기에 다시 저장합니다.", deltas.size(), e);
+            deltas.forEach((postId, delta) -> {
+                Entry entry = entries.get(postId);
+                entry.base.addAndGet(-delta);
+                entry.pending.add(delta);
+            });
+            return;
+        }
+
+        refresh(new ArrayList<>(deltas.keySet()));
+        popularPostsUpdater.recordViews(deltas);
+    }
+
+    // 두 번째 flush는 첫 번째에서 빠진 항목에 늦게 더해진 조회수를 저장한다.
+    @PreDestroy
+    public void flushOnShutdown() {
+        try {
+            flush();
+        } finally {
+            flush();
+        }
+    }
+
+    private void drainRetired() {
+        for (Map.Entry<Long, Entry> mapEntry : retired) {
+            long late = mapEntry.getValue().pending.sumThenReset();
+            if (late > 0) {
+                entries.computeIfAbsent(mapEntry.getKey(), id -> new Entry(mapEntry.getValue().base.get()))
+                        .pending.add(late);
+            }
+        }
+        retired = new ArrayList<>();
+    }
+
+    // 다른 노드에서 더한 조회수까지 반영되도록 저장한 글의 base를 DB 값으로 맞춘다.
+    private void refresh(List<Long> postIds) {
+        for (int from = 0; from < postIds.size(); from += REFRESH_CHUNK_SIZE) {
+            List<Long> chunk = postIds.subList(from, Math.min(from + REFRESH_CHUNK_SIZE, postIds.size()));
+            String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+            jdbcTemplate.query("select id, view_count from post where id in (" + placeholders + ")",
+                    rs -> {
+                        Entry entry = entries.get(rs.getLong("id"));
+                        if (entry != null) {
+                            entry.base.set(rs.getLong("view_count"));
+                        }
+                    },
+                    chunk.toArray());
+        }
+    }
+
+    private static class Entry {
+
+        private final AtomicLong base;
+        private final LongAdder pending = new LongAdder();
+
+        private Entry(long base) {
+            this.base = new AtomicLong(base);
+        }
+
+        private long current() {
+            return base.get() + pending.sum();
+        }
+    }
+}
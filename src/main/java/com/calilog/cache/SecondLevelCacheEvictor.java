@@ -0,0 +1,31 @@
+package com.calilog.cache;
+
+import com.calilog.config.SecondLevelCacheConfig;
+import com.calilog.domain.Post;
+import com.calilog.event.PostChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * JPA를 거친 수정/삭제는 Hibernate가 2차 캐시와 쿼리 캐시를 직접 무효화하지만,
+ * R2DBC처럼 Hibernate 밖에서 바뀐 글은 알 수 없으므로 이벤트를 받아 한 번 더 지운다.
+ */
+@RequiredArgsConstructor
+@Component
+@ConditionalOnProperty(name = "calilog.cache.l2.enabled", havingValue = "true")
+public class SecondLevelCacheEvictor {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void evict(PostChangedEvent event) {
+        javax.persistence.Cache cache = entityManagerFactory.getCache();
+        // write-behind처럼 JDBC로 새 글을 넣으면 같은 id의 이전 엔티티가 남아 있을 수 있으므로 생성에도 지운다.
+        event.getPostIds().forEach(postId -> cache.evict(Post.class, postId));
+        cache.unwrap(org.hibernate.Cache.class).evictQueryRegion(SecondLevelCacheConfig.POST_LIST_REGION);
+    }
+}
@@ -0,0 +1,21 @@
+package com.calilog.config;
+
+import com.calilog.cache.LocalPostCache;
+import com.calilog.cache.PostCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class CacheConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "calilog.cache.post.type", havingValue = "local", matchIfMissing = true)
+    public PostCache localPostCache(@Value("${calilog.cache.post.max-size:10000}") int maxSize,
+                                    @Value("${calilog.cache.post.ttl:10m}") Duration ttl) {
+        return new LocalPostCache(maxSize, ttl);
+    }
+}
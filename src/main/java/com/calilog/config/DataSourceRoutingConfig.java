@@ -0,0 +1,65 @@
+package com.calilog.config;
+
+import com.calilog.datasource.ReplicationRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 읽기/쓰기 DataSource 분리
+ * 쓰기는 spring.datasource(primary)로, @Transactional(readOnly = true) 조회는 calilog.datasource.replica.urls로 보낸다.
+ * 두 풀 모두 spring.datasource.hikari 설정을 따르고, replica 풀은 읽기 전용 커넥션을 쓴다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "calilog.datasource.routing.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    public ReplicationRoutingDataSource replicationRoutingDataSource(DataSourceProperties properties,
+                                                                     Environment environment,
+                                                                     @Value("${calilog.datasource.replica.urls}") List<String> replicaUrls) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        configure(primary, "primary", environment);
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String url : replicaUrls) {
+            HikariDataSource replica = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(properties.determineDriverClassName())
+                    .url(url)
+                    .username(properties.determineUsername())
+                    .password(properties.determinePassword())
+                    .build();
+            configure(replica, "replica-" + replicas.size(), environment);
+            replica.setReadOnly(true);
+            replicas.add(replica);
+        }
+        return new ReplicationRoutingDataSource(primary, replicas);
+    }
+
+    @Primary
+    @Bean
+    public DataSource dataSource(ReplicationRoutingDataSource replicationRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicationRoutingDataSource);
+    }
+
+    private static void configure(HikariDataSource dataSource, String poolName, Environment environment) {
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        dataSource.setPoolName(poolName);
+    }
+}
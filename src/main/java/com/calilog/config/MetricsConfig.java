@@ -0,0 +1,64 @@
+package com.calilog.config;
+
+import com.calilog.cache.PostCache;
+import com.calilog.metrics.EntityLoadInterceptor;
+import com.calilog.metrics.HibernateRequestMetricsInterceptor;
+import com.calilog.metrics.SqlStatementInspector;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@RequiredArgsConstructor
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 서비스 클래스의 @Timed 처리
+     */
+    @Bean
+    public TimedAspect timedAspect() {
+        return new TimedAspect(meterRegistry);
+    }
+
+    // JPA 설정보다 먼저 필요하므로 static으로 두어 이 설정 클래스가 일찍 초기화되지 않게 한다.
+    @Bean
+    public static HibernatePropertiesCustomizer hibernateMetricsCustomizer(
+            @Value("${calilog.sql-log.sample-rate:0.0}") double sqlLogSampleRate) {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementInspector(sqlLogSampleRate));
+            properties.put(AvailableSettings.INTERCEPTOR, new EntityLoadInterceptor());
+        };
+    }
+
+    // MeterRegistry가 MeterBinder를 수집하므로 static으로 두어 순환 참조를 피한다.
+    @Bean
+    public static MeterBinder postCacheMetrics(PostCache postCache) {
+        return registry -> {
+            FunctionCounter.builder("calilog.cache.post.hits", postCache, cache -> cache.stats().getHits())
+                    .register(registry);
+            FunctionCounter.builder("calilog.cache.post.misses", postCache, cache -> cache.stats().getMisses())
+                    .register(registry);
+            FunctionCounter.builder("calilog.cache.post.evictions", postCache, cache -> cache.stats().getEvictions())
+                    .register(registry);
+            Gauge.builder("calilog.cache.post.size", postCache, cache -> cache.stats().getSize())
+                    .register(registry);
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HibernateRequestMetricsInterceptor(meterRegistry));
+    }
+}
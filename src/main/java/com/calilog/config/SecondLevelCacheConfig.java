@@ -0,0 +1,83 @@
+package com.calilog.config;
+
+import com.calilog.domain.Post;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Post 엔티티 2차 캐시와 목록 쿼리 캐시 (calilog.cache.l2.enabled=true 일 때만)
+ * 영역별 크기는 calilog.cache.l2.* 로 정하고, 적중률은 hibernate.* 메트릭으로 확인한다.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    public static final String POST_LIST_REGION = "post-list";
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "calilog.cache.l2.enabled", havingValue = "true")
+    public CacheManager secondLevelCacheManager(@Value("${calilog.cache.l2.post.max-size:10000}") long postMaxSize,
+                                                @Value("${calilog.cache.l2.post-list.max-size:100}") long postListMaxSize,
+                                                @Value("${calilog.cache.l2.ttl:10m}") Duration ttl) {
+        // 한 JVM에 컨텍스트가 여럿이어도(테스트) 서로 영역을 공유하지 않도록 매번 새 CacheManager를 만든다.
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("calilog-l2-" + UUID.randomUUID()), getClass().getClassLoader());
+
+        cacheManager.createCache(Post.CACHE_REGION, regionConfiguration(postMaxSize, ttl));
+        cacheManager.createCache(POST_LIST_REGION, regionConfiguration(postListMaxSize, ttl));
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                regionConfiguration(postListMaxSize, ttl));
+        // 테이블별 마지막 변경 시각. 지워지면 쿼리 캐시가 오래된 결과를 돌려줄 수 있으므로 크기/만료 제한을 두지 않는다.
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                new CaffeineConfiguration<>());
+        return cacheManager;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "calilog.cache.l2.enabled", havingValue = "true")
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+        };
+    }
+
+    /**
+     * Hibernate 5.6은 use_second_level_cache 기본값이 true라서, 끄지 않으면 클래스패스의 hibernate-jcache로
+     * post 영역을 JVM 공용 CacheManager에 크기/만료 제한 없이 만든다. (JDBC/R2DBC로 바꾼 글이 지워지지 않는다)
+     */
+    @Bean
+    @ConditionalOnProperty(name = "calilog.cache.l2.enabled", havingValue = "false", matchIfMissing = true)
+    public HibernatePropertiesCustomizer secondLevelCacheDisabledCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, false);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, false);
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> regionConfiguration(long maxSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+}
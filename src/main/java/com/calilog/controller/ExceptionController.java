@@ -3,45 +3,46 @@ package com.calilog.controller;
 import com.calilog.exception.CalilogException;
 import com.calilog.exception.InvalidRequestException;
 import com.calilog.response.ErrorResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.bind.support.WebExchangeBindException;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 @Slf4j
+@RequiredArgsConstructor
 @RestControllerAdvice
 public class ExceptionController {
 
+    private final MeterRegistry meterRegistry;
+
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ErrorResponse invalidRequestHandler(MethodArgumentNotValidException e) {
+        countException(e, "400");
+        return invalidRequestResponse(e.getFieldErrors());
+    }
 
-        Map<String, String> errors = new HashMap<>();
-        List<FieldError> fieldErrors = e.getFieldErrors();
-        for (FieldError fieldError : fieldErrors) {
-            String field = fieldError.getField();
-            String message = fieldError.getDefaultMessage();
-            errors.put(field, message);
-        }
-
-        ErrorResponse errorResponse = ErrorResponse.builder()
-                .code("400")
-                .message("잘못된 요청입니다.")
-                .errors(errors)
-                .build();
-
-        return errorResponse;
+    // WebFlux(ReactivePostController)에서 @Valid 검증 실패
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ErrorResponse invalidRequestHandler(WebExchangeBindException e) {
+        countException(e, "400");
+        return invalidRequestResponse(e.getFieldErrors());
     }
 
     @ExceptionHandler(CalilogException.class)
     public ResponseEntity<ErrorResponse> postNotFoundExceptionHandler(CalilogException e) {
         String statusCode = e.getStatusCode();
+        countException(e, statusCode);
 
         ErrorResponse body = ErrorResponse.builder()
                 .code(statusCode)
@@ -54,4 +55,28 @@ public class ExceptionController {
 
         return errorResponse;
     }
+
+    private ErrorResponse invalidRequestResponse(List<FieldError> fieldErrors) {
+        Map<String, String> errors = new HashMap<>();
+        for (FieldError fieldError : fieldErrors) {
+            String field = fieldError.getField();
+            String message = fieldError.getDefaultMessage();
+            errors.put(field, message);
+        }
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .code("400")
+                .message("잘못된 요청입니다.")
+                .errors(errors)
+                .build();
+
+        return errorResponse;
+    }
+
+    private void countException(Exception e, String statusCode) {
+        meterRegistry.counter("calilog.exceptions",
+                        "exception", e.getClass().getSimpleName(),
+                        "status", statusCode)
+                .increment();
+    }
 }
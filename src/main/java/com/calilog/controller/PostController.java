@@ -1,48 +1,160 @@
 package com.calilog.controller;
 
+import com.calilog.cache.FrontPage;
+import com.calilog.cache.FrontPageCache;
+import com.calilog.request.PostBulkCreate;
 import com.calilog.request.PostCreate;
 import com.calilog.request.PostEdit;
 import com.calilog.request.PostSearch;
+import com.calilog.response.PostMultiGetResponse;
+import com.calilog.response.PostPageResponse;
+import com.calilog.response.PostETag;
 import com.calilog.response.PostResponse;
+import com.calilog.response.PostScrollResponse;
+import com.calilog.response.PostSummary;
+import com.calilog.response.PostVersion;
 import com.calilog.service.PostService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 
 @Slf4j
 @RequiredArgsConstructor
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class PostController {
 
     private final PostService postService;
+    private final FrontPageCache frontPageCache;
+
+    @Value("${calilog.write-behind.enabled:false}")
+    private boolean writeBehind;
 
     @GetMapping("/posts")
-    public List<PostResponse> posts(@PageableDefault PostSearch postSearch) {
-        return postService.getPostList(postSearch);
+    public ResponseEntity<?> posts(@PageableDefault PostSearch postSearch, WebRequest webRequest) {
+        // 첫 화면은 미리 직렬화해 둔 바이트를 그대로 내려준다. (DB 조회, 매핑, JSON 직렬화 없음)
+        FrontPage frontPage = frontPageCache.get(postSearch);
+        if (frontPage != null) {
+            if (webRequest.checkNotModified(frontPage.getETag())) {
+                return null;
+            }
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(frontPage.getBody());
+        }
+
+        List<PostSummary> posts = postService.getPostList(postSearch);
+        if (webRequest.checkNotModified(PostETag.of(posts))) {
+            return null;
+        }
+        return ResponseEntity.ok(posts);
+    }
+
+    @GetMapping(value = "/posts", params = "ids")
+    public PostMultiGetResponse postsByIds(@RequestParam(name = "ids") List<Long> ids) {
+        return postService.getPosts(ids);
+    }
+
+    @GetMapping("/posts/page")
+    public PostPageResponse postPage(PostSearch postSearch) {
+        return postService.getPostPage(postSearch);
+    }
+
+    @GetMapping("/posts/search")
+    public List<PostSummary> search(PostSearch postSearch) {
+        return postService.searchPosts(postSearch);
+    }
+
+    @GetMapping("/posts/popular")
+    public List<PostSummary> popular(@RequestParam(name = "size", defaultValue = "10") int size) {
+        return postService.getPopularPosts(size);
+    }
+
+    @GetMapping("/posts/scroll")
+    public PostScrollResponse postScroll(PostSearch postSearch) {
+        return postService.getPostScroll(postSearch);
+    }
+
+    @GetMapping("/posts/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(name = "since", required = false) Long sinceId) {
+        StreamingResponseBody body = outputStream -> postService.export(sinceId, outputStream);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @PostMapping("/posts")
-    public Map<String, Long> postWrite(@RequestBody @Valid PostCreate request) {
-        request.validate();
+    public ResponseEntity<Map<String, Long>> postWrite(@RequestBody @Valid PostCreate request) {
+        if (writeBehind) {
+            // 큐에 넣고 바로 응답한다. 저장은 백그라운드에서 배치로 한다.
+            Long postId = postService.writeBehind(request);
+            return ResponseEntity.accepted().body(Map.of("postId", postId));
+        }
+
         Long postId = postService.write(request);
-        return Map.of("postId", postId);
+        return ResponseEntity.ok(Map.of("postId", postId));
+    }
+
+    @PostMapping("/posts/bulk")
+    public Map<String, List<Long>> postBulkWrite(@RequestBody @Valid PostBulkCreate request) {
+        List<Long> postIds = postService.writeAll(request);
+        return Map.of("postIds", postIds);
     }
 
     @GetMapping("/posts/{postId}")
-    public PostResponse post(@PathVariable(name = "postId") Long id) {
+    public PostResponse post(@PathVariable(name = "postId") Long id, WebRequest webRequest) {
+        // 캐시에 없으면 한 번만 읽어 버전 확인과 응답에 같이 쓴다. 읽은 글은 캐시에 올라가므로 다음 조건부 요청은 DB를 거치지 않는다.
+        // ETag는 글 내용의 버전만 나타내고 viewCount는 검증하지 않는다. (PostETag 참고)
         PostResponse postResponse = postService.getPost(id);
+        PostVersion postVersion = PostVersion.from(postResponse);
+        if (webRequest.checkNotModified(postVersion.getETag(), postVersion.getLastModified())) {
+            return null;
+        }
 
-        return postResponse;
+        // 본문을 내려줄 때만 조회수를 올린다. (304는 세지 않는다)
+        return postService.viewPost(postResponse);
+    }
+
+    @GetMapping("/posts/{postId}/content")
+    public ResponseEntity<StreamingResponseBody> content(@PathVariable(name = "postId") Long id, WebRequest webRequest) {
+        // 스트리밍을 시작하면 상태 코드를 바꿀 수 없으므로 404/304는 여기서 먼저 결정한다.
+        PostVersion postVersion = postService.getPostVersion(id);
+        if (webRequest.checkNotModified(postVersion.getETag(), postVersion.getLastModified())) {
+            return null;
+        }
+
+        StreamingResponseBody body = outputStream -> postService.writeContent(id, outputStream);
+
+        return ResponseEntity.ok()
+                .contentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8))
+                .body(body);
     }
 
     @PatchMapping("/posts/{postId}")
-    public void edit(@PathVariable(name = "postId") Long id, @RequestBody @Valid PostEdit request) {
-        postService.edit(id, request);
+    public void edit(@PathVariable(name = "postId") Long id,
+                     @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                     @RequestBody @Valid PostEdit request) {
+        postService.edit(id, request, PostETag.parseVersion(id, ifMatch));
+    }
+
+    @DeleteMapping(value = "/posts", params = "ids")
+    public Map<String, Long> deleteAll(@RequestParam(name = "ids") List<Long> ids) {
+        long deletedCount = postService.deleteAll(ids);
+        return Map.of("deletedCount", deletedCount);
     }
 
     @DeleteMapping("/posts/{postId}")
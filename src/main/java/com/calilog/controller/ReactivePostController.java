@@ -0,0 +1,69 @@
+package com.calilog.controller;
+
+import com.calilog.request.PostCreate;
+import com.calilog.request.PostEdit;
+import com.calilog.request.PostSearch;
+import com.calilog.response.PostETag;
+import com.calilog.response.PostResponse;
+import com.calilog.response.PostSummary;
+import com.calilog.response.PostVersion;
+import com.calilog.service.ReactivePostService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import javax.validation.Valid;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * spring.main.web-application-type=reactive(reactive 프로필)일 때 PostController 대신 /posts를 제공한다.
+ * 요청/응답 형식과 검증, 오류 응답은 PostController와 같다.
+ */
+@RequiredArgsConstructor
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactivePostController {
+
+    private final ReactivePostService postService;
+
+    @GetMapping("/posts")
+    public Mono<List<PostSummary>> posts(PostSearch postSearch, ServerWebExchange exchange) {
+        return postService.getPostList(postSearch)
+                .collectList()
+                .filter(posts -> !exchange.checkNotModified(PostETag.of(posts)));
+    }
+
+    @PostMapping("/posts")
+    public Mono<Map<String, Long>> postWrite(@RequestBody @Valid PostCreate request) {
+        return postService.write(request)
+                .map(postId -> Map.of("postId", postId));
+    }
+
+    @GetMapping("/posts/{postId}")
+    public Mono<PostResponse> post(@PathVariable(name = "postId") Long id, ServerWebExchange exchange) {
+        return postService.getPost(id)
+                .filter(postResponse -> {
+                    PostVersion postVersion = PostVersion.from(postResponse);
+                    long lastModified = postVersion.getLastModified();
+                    return !exchange.checkNotModified(postVersion.getETag(),
+                            lastModified < 0 ? null : Instant.ofEpochMilli(lastModified));
+                });
+    }
+
+    @PatchMapping("/posts/{postId}")
+    public Mono<Void> edit(@PathVariable(name = "postId") Long id,
+                           @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                           @RequestBody @Valid PostEdit request) {
+        return postService.edit(id, request, PostETag.parseVersion(id, ifMatch));
+    }
+
+    @DeleteMapping("/posts/{postId}")
+    public Mono<Void> delete(@PathVariable(name = "postId") Long id) {
+        return postService.delete(id);
+    }
+}
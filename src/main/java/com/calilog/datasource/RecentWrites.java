@@ -0,0 +1,76 @@
+package com.calilog.datasource;
+
+import com.calilog.event.PostChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * 방금 쓴 글을 replica 복제 지연(max-lag) 동안 primary에서 읽게 한다. (자기가 쓴 글을 바로 다시 읽는 경우 404/이전 버전 방지)
+ * 이 노드에서 일어난 쓰기만 알기 때문에, 다른 노드에서 쓴 글은 복제될 때까지 이전 값이 보일 수 있다.
+ */
+@Component
+public class RecentWrites {
+
+    private final TransactionTemplate primaryTransaction;
+    private final long windowNanos;
+
+    // 글 id -> primary에서 읽어야 하는 기한 (System.nanoTime)
+    private final ConcurrentMap<Long, Long> deadlines = new ConcurrentHashMap<>();
+
+    public RecentWrites(PlatformTransactionManager transactionManager,
+                        @Value("${calilog.datasource.replica.max-lag:0s}") Duration replicaMaxLag) {
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+        this.windowNanos = replicaMaxLag.toNanos();
+    }
+
+    /**
+     * 최근에 쓴 글이면 쓰기 트랜잭션(primary) 안에서, 아니면 그대로 읽는다.
+     * 안쪽의 @Transactional(readOnly = true)는 바깥 트랜잭션에 참여하므로 primary 커넥션을 쓴다.
+     */
+    public <T> T read(Long postId, Supplier<T> reader) {
+        if (!isRecent(postId)) {
+            return reader.get();
+        }
+        return primaryTransaction.execute(status -> reader.get());
+    }
+
+    public boolean isRecent(Long postId) {
+        Long deadline = deadlines.get(postId);
+        return deadline != null && deadline - System.nanoTime() > 0;
+    }
+
+    // 커밋 직후부터 기한을 세야 하지만, 커밋과 이벤트 처리 사이에 들어온 조회도 primary로 보내도록 발행 시점에도 표시한다.
+    @EventListener
+    public void markOnPublish(PostChangedEvent event) {
+        mark(event);
+    }
+
+    @TransactionalEventListener
+    public void markOnCommit(PostChangedEvent event) {
+        mark(event);
+    }
+
+    @Scheduled(fixedDelayString = "${calilog.datasource.replica.recent-writes.prune-interval:10000}")
+    public void prune() {
+        long now = System.nanoTime();
+        deadlines.values().removeIf(deadline -> deadline - now <= 0);
+    }
+
+    private void mark(PostChangedEvent event) {
+        if (windowNanos == 0) {
+            return;
+        }
+        long deadline = System.nanoTime() + windowNanos;
+        event.getPostIds().forEach(postId -> deadlines.put(postId, deadline));
+    }
+}
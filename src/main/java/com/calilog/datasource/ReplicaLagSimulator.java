@@ -0,0 +1,161 @@
+package com.calilog.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * 로컬에서 H2 두 개로 primary/replica를 흉내 낸다. (H2 전용)
+ * 기동할 때 primary의 스키마를 replica에 만들고, lag마다 primary의 모든 테이블을 replica로 통째로 복사한다.
+ * 그래서 replica는 최대 lag만큼 primary보다 늦다.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+@ConditionalOnProperty(name = {"calilog.datasource.routing.enabled", "calilog.datasource.replica.simulation.enabled"},
+        havingValue = "true")
+public class ReplicaLagSimulator {
+
+    private final DataSource primary;
+    private final List<DataSource> replicas = new ArrayList<>();
+    private final TaskScheduler taskScheduler;
+
+    @Value("${calilog.datasource.replica.simulation.lag:500ms}")
+    private Duration lag;
+
+    private ScheduledFuture<?> scheduledSync;
+
+    // 트랜잭션 밖에서 꺼낸 커넥션은 primary로 간다. replica에는 앱의 읽기 전용 풀 대신 별도 커넥션으로 쓴다.
+    public ReplicaLagSimulator(DataSource dataSource,
+                               TaskScheduler taskScheduler,
+                               @Value("${calilog.datasource.replica.urls}") List<String> replicaUrls,
+                               @Value("${spring.datasource.username:sa}") String username,
+                               @Value("${spring.datasource.password:}") String password) {
+        this.primary = dataSource;
+        this.taskScheduler = taskScheduler;
+        for (String url : replicaUrls) {
+            replicas.add(new DriverManagerDataSource(url, username, password));
+        }
+    }
+
+    @PostConstruct
+    public void start() throws SQLException {
+        copySchema();
+        sync();
+        scheduledSync = taskScheduler.scheduleWithFixedDelay(this::syncQuietly, lag);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduledSync != null) {
+            scheduledSync.cancel(false);
+        }
+    }
+
+    /**
+     * 지금 primary의 데이터를 모든 replica에 복사한다. replica마다 한 트랜잭션으로 바꾸므로 읽는 쪽은 중간 상태를 보지 않는다.
+     */
+    public synchronized void sync() throws SQLException {
+        try (Connection source = primary.getConnection()) {
+            List<String> tables = tables(source);
+            for (DataSource replica : replicas) {
+                try (Connection target = replica.getConnection()) {
+                    target.setAutoCommit(false);
+                    for (String table : tables) {
+                        copyTable(source, target, table);
+                    }
+                    target.commit();
+                }
+            }
+        }
+    }
+
+    private void syncQuietly() {
+        try {
+            sync();
+        } catch (SQLException e) {
+            log.warn("replica 동기화 실패", e);
+        }
+    }
+
+    private void copySchema() throws SQLException {
+        List<String> statements = new ArrayList<>();
+        try (Connection source = primary.getConnection();
+             Statement statement = source.createStatement();
+             ResultSet resultSet = statement.executeQuery("SCRIPT NODATA")) {
+            while (resultSet.next()) {
+                statements.add(resultSet.getString(1));
+            }
+        }
+
+        for (DataSource replica : replicas) {
+            try (Connection target = replica.getConnection();
+                 Statement statement = target.createStatement()) {
+                statement.execute("DROP ALL OBJECTS");
+                for (String sql : statements) {
+                    statement.execute(sql);
+                }
+            }
+        }
+    }
+
+    private static List<String> tables(Connection connection) throws SQLException {
+        List<String> tables = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("select table_name from information_schema.tables"
+                     + " where table_schema = 'PUBLIC' and table_type = 'BASE TABLE'")) {
+            while (resultSet.next()) {
+                tables.add(resultSet.getString(1));
+            }
+        }
+        return tables;
+    }
+
+    private static void copyTable(Connection source, Connection target, String table) throws SQLException {
+        try (Statement delete = target.createStatement()) {
+            delete.executeUpdate("delete from \"" + table + "\"");
+        }
+
+        try (Statement select = source.createStatement();
+             ResultSet rows = select.executeQuery("select * from \"" + table + "\"")) {
+            ResultSetMetaData metaData = rows.getMetaData();
+            int columnCount = metaData.getColumnCount();
+            String placeholders = String.join(", ", Collections.nCopies(columnCount, "?"));
+
+            try (PreparedStatement insert = target.prepareStatement(
+                    "insert into \"" + table + "\" values (" + placeholders + ")")) {
+                while (rows.next()) {
+                    for (int column = 1; column <= columnCount; column++) {
+                        switch (metaData.getColumnType(column)) {
+                            case Types.BLOB -> insert.setBytes(column, rows.getBytes(column));
+                            case Types.CLOB -> insert.setString(column, rows.getString(column));
+                            default -> insert.setObject(column, rows.getObject(column));
+                        }
+                    }
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+        }
+    }
+}
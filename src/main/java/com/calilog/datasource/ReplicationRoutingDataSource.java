@@ -0,0 +1,58 @@
+package com.calilog.datasource;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 읽기 전용 트랜잭션은 replica로(여러 대면 돌아가며), 쓰기 트랜잭션과 트랜잭션 밖의 조회는 primary로 보낸다.
+ * 트랜잭션의 readOnly 여부는 트랜잭션 매니저가 커넥션을 얻은 뒤에 정해지므로
+ * LazyConnectionDataSourceProxy로 감싸 첫 쿼리 시점에 커넥션을 고르게 한다.
+ */
+public class ReplicationRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    private static final String PRIMARY = "primary";
+
+    private final List<DataSource> targets = new ArrayList<>();
+    private final List<String> replicaKeys = new ArrayList<>();
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicationRoutingDataSource(DataSource primary, List<? extends DataSource> replicas) {
+        Map<Object, Object> targetDataSources = new HashMap<>();
+        targetDataSources.put(PRIMARY, primary);
+        targets.add(primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            String key = "replica-" + i;
+            targetDataSources.put(key, replicas.get(i));
+            targets.add(replicas.get(i));
+            replicaKeys.add(key);
+        }
+        setTargetDataSources(targetDataSources);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (replicaKeys.isEmpty() || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        return replicaKeys.get(Math.floorMod(next.getAndIncrement(), replicaKeys.size()));
+    }
+
+    // 커넥션 풀은 빈이 아니므로 직접 닫는다.
+    @Override
+    public void destroy() throws Exception {
+        for (DataSource target : targets) {
+            if (target instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
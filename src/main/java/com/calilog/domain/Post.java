@@ -1,36 +1,72 @@
 package com.calilog.domain;
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 import javax.persistence.*;
+import java.time.LocalDateTime;
 
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Post.CACHE_REGION)
 public class Post {
+
+    // JPA 밖에서 post_seq로 id를 할당받는 곳도 같은 블록 크기를 써야 id가 겹치지 않는다.
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // 2차 캐시 영역 (SecondLevelCacheConfig에서 켠다)
+    public static final String CACHE_REGION = "post";
+
+    public static final int EXCERPT_LENGTH = 200;
+
     @Builder
     public Post(String title, String content) {
         this.title = title;
         this.content = content;
+        this.excerpt = excerptOf(content);
     }
 
+    // IDENTITY 전략은 insert 배치를 막기 때문에 pooled 시퀀스로 id를 미리 할당받는다.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "post_seq_generator")
+    @SequenceGenerator(name = "post_seq_generator", sequenceName = "post_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     private String title;
 
+    // 큰 본문은 압축해서 저장한다. (PostContentConverter)
     @Lob
+    @Convert(converter = PostContentConverter.class)
     private String content;
 
-    public PostEditor.PostEditorBuilder toEditor() {
-        return PostEditor.builder()
-                .title(title)
-                .content(content);
+    // 압축된 본문은 DB에서 잘라낼 수 없으므로 목록용 앞부분을 따로 저장한다.
+    @Column(length = EXCERPT_LENGTH)
+    private String excerpt;
+
+    // 조회수는 PostViewCounter가 모아서 SQL로 더한다. 엔티티를 저장할 때 이전 값으로 덮어쓰지 않도록 UPDATE에서 뺀다.
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private long viewCount;
+
+    @Version
+    private Long version;
+
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        this.updatedAt = LocalDateTime.now();
     }
 
-    public void edit(PostEditor postEditor) {
-        this.title = postEditor.getTitle();
-        this.content = postEditor.getContent();
+    public static String excerptOf(String content) {
+        if (content == null || content.length() <= EXCERPT_LENGTH) {
+            return content;
+        }
+        return content.substring(0, EXCERPT_LENGTH);
     }
 }
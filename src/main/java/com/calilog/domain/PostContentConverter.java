@@ -0,0 +1,163 @@
+package com.calilog.domain;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * 게시글 본문 저장 형식
+ * 매직 2바이트(0xFF 0xC1) 다음 한 바이트가 형식을 나타낸다. 짧은 글은 압축해도 이득이 없으므로 그대로(RAW) 두고,
+ * COMPRESSION_THRESHOLD 이상인 글만 Deflate로 압축한다. (매직 + DEFLATE + 원본 길이 4바이트 + 압축 데이터)
+ * 0xFF와 0xC1은 UTF-8에 나올 수 없는 바이트이므로, 매직으로 시작하지 않는 값은 압축 도입 전에 저장된 UTF-8 본문으로 읽는다.
+ */
+@Converter
+public class PostContentConverter implements AttributeConverter<String, byte[]> {
+
+    public static final int COMPRESSION_THRESHOLD = 1024;
+
+    private static final byte[] MAGIC = {(byte) 0xFF, (byte) 0xC1};
+    private static final byte RAW = 0;
+    private static final byte DEFLATE = 1;
+    private static final int HEADER_LENGTH = MAGIC.length + 1;
+    private static final int DEFLATE_HEADER_LENGTH = HEADER_LENGTH + 4;
+    private static final int LEGACY = -1;
+
+    @Override
+    public byte[] convertToDatabaseColumn(String content) {
+        return encode(content);
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] stored) {
+        return decode(stored);
+    }
+
+    public static byte[] encode(String content) {
+        if (content == null) {
+            return null;
+        }
+
+        byte[] raw = content.getBytes(UTF_8);
+        if (raw.length >= COMPRESSION_THRESHOLD) {
+            byte[] compressed = deflate(raw);
+            if (compressed != null) {
+                return compressed;
+            }
+        }
+
+        byte[] stored = new byte[raw.length + HEADER_LENGTH];
+        ByteBuffer.wrap(stored).put(MAGIC).put(RAW).put(raw);
+        return stored;
+    }
+
+    public static String decode(byte[] stored) {
+        if (stored == null) {
+            return null;
+        }
+        if (stored.length == 0) {
+            return "";
+        }
+
+        return switch (format(stored)) {
+            case RAW -> new String(stored, HEADER_LENGTH, stored.length - HEADER_LENGTH, UTF_8);
+            case DEFLATE -> inflate(stored);
+            default -> new String(stored, UTF_8);
+        };
+    }
+
+    /**
+     * 저장된 본문 스트림을 UTF-8 본문 스트림으로 바꾼다. 본문 전체를 메모리에 올리지 않는다.
+     */
+    public static InputStream decode(InputStream stored) throws IOException {
+        PushbackInputStream in = new PushbackInputStream(stored, HEADER_LENGTH);
+        byte[] header = in.readNBytes(HEADER_LENGTH);
+        int format = format(header);
+        if (format == RAW) {
+            return in;
+        }
+        if (format == DEFLATE) {
+            in.skipNBytes(DEFLATE_HEADER_LENGTH - HEADER_LENGTH);
+            return new InflaterInputStream(in);
+        }
+        in.unread(header);
+        return in;
+    }
+
+    /**
+     * 헤더가 없거나, 압축 대상인데 압축되지 않은 값이면 true
+     */
+    public static boolean needsMigration(byte[] stored) {
+        if (stored == null || stored.length == 0) {
+            return false;
+        }
+        return switch (format(stored)) {
+            case RAW -> stored.length - HEADER_LENGTH >= COMPRESSION_THRESHOLD;
+            case DEFLATE -> false;
+            default -> true;
+        };
+    }
+
+    // 매직으로 시작하지 않거나 알 수 없는 형식이면 LEGACY
+    private static int format(byte[] stored) {
+        if (stored.length < HEADER_LENGTH || stored[0] != MAGIC[0] || stored[1] != MAGIC[1]) {
+            return LEGACY;
+        }
+        byte format = stored[MAGIC.length];
+        return format == RAW || format == DEFLATE ? format : LEGACY;
+    }
+
+    // 압축 결과가 원본보다 크거나 같으면 null
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+
+            byte[] buffer = new byte[raw.length];
+            ByteBuffer.wrap(buffer).put(MAGIC).put(DEFLATE).putInt(raw.length);
+            int length = DEFLATE_HEADER_LENGTH;
+            while (!deflater.finished()) {
+                if (length == buffer.length) {
+                    return null;
+                }
+                length += deflater.deflate(buffer, length, buffer.length - length);
+            }
+            return Arrays.copyOf(buffer, length);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static String inflate(byte[] stored) {
+        int rawLength = ByteBuffer.wrap(stored, HEADER_LENGTH, 4).getInt();
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(stored, DEFLATE_HEADER_LENGTH, stored.length - DEFLATE_HEADER_LENGTH);
+
+            byte[] raw = new byte[rawLength];
+            int length = 0;
+            while (length < rawLength) {
+                int inflated = inflater.inflate(raw, length, rawLength - length);
+                if (inflated == 0 && (inflater.finished() || inflater.needsInput())) {
+                    throw new IllegalStateException("압축된 본문이 손상되었습니다.");
+                }
+                length += inflated;
+            }
+            return new String(raw, UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("압축된 본문이 손상되었습니다.", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.calilog.event;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 게시글이 생성/수정/삭제되었음을 알리는 이벤트
+ * 캐시 무효화처럼 커밋 이후에 처리해야 하는 작업은 이 이벤트를 구독한다.
+ */
+@Getter
+public class PostChangedEvent {
+
+    public enum Type {
+        CREATED, EDITED, DELETED
+    }
+
+    private final Type type;
+    private final List<Long> postIds;
+
+    private PostChangedEvent(Type type, List<Long> postIds) {
+        this.type = type;
+        this.postIds = List.copyOf(postIds);
+    }
+
+    public static PostChangedEvent created(List<Long> postIds) {
+        return new PostChangedEvent(Type.CREATED, postIds);
+    }
+
+    public static PostChangedEvent edited(Long postId) {
+        return new PostChangedEvent(Type.EDITED, List.of(postId));
+    }
+
+    public static PostChangedEvent deleted(List<Long> postIds) {
+        return new PostChangedEvent(Type.DELETED, postIds);
+    }
+
+    @Override
+    public String toString() {
+        return "PostChangedEvent{" +
+                "type=" + type +
+                ", postIds=" + postIds +
+                '}';
+    }
+}
@@ -0,0 +1,19 @@
+package com.calilog.exception;
+
+public class PostConflictException extends CalilogException {
+
+    private static final String MESSAGE = "다른 요청에 의해 글이 먼저 수정되었습니다.";
+
+    public PostConflictException() {
+        super(MESSAGE);
+    }
+
+    public PostConflictException(Throwable cause) {
+        super(MESSAGE, cause);
+    }
+
+    @Override
+    public String getStatusCode() {
+        return "409";
+    }
+}
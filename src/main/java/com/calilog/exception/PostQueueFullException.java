@@ -0,0 +1,15 @@
+package com.calilog.exception;
+
+public class PostQueueFullException extends CalilogException {
+
+    private static final String MESSAGE = "요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해 주세요.";
+
+    public PostQueueFullException() {
+        super(MESSAGE);
+    }
+
+    @Override
+    public String getStatusCode() {
+        return "429";
+    }
+}
@@ -0,0 +1,54 @@
+package com.calilog.metrics;
+
+/**
+ * 요청(스레드) 단위로 실행된 SQL 수와 로드된 엔티티 수를 센다.
+ * 요청 스레드가 아닌 곳(비동기 스트리밍 등)에서 실행된 SQL은 집계하지 않는다.
+ */
+public final class HibernateRequestCounter {
+
+    private static final ThreadLocal<Counts> CURRENT = new ThreadLocal<>();
+
+    private HibernateRequestCounter() {
+    }
+
+    /**
+     * 비동기 요청처럼 앞선 디스패치에서 센 값이 있으면 이어서 센다.
+     */
+    public static void begin(Counts counts) {
+        CURRENT.set(counts == null ? new Counts() : counts);
+    }
+
+    public static Counts end() {
+        Counts counts = CURRENT.get();
+        CURRENT.remove();
+        return counts;
+    }
+
+    static void statementPrepared() {
+        Counts counts = CURRENT.get();
+        if (counts != null) {
+            counts.statements++;
+        }
+    }
+
+    static void entityLoaded() {
+        Counts counts = CURRENT.get();
+        if (counts != null) {
+            counts.entityLoads++;
+        }
+    }
+
+    public static final class Counts {
+
+        private long statements;
+        private long entityLoads;
+
+        public long getStatements() {
+            return statements;
+        }
+
+        public long getEntityLoads() {
+            return entityLoads;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.calilog.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * 요청 하나에서 실행된 SQL 수 / 로드된 엔티티 수를 uri 별 분포로 기록한다.
+ * 비동기 요청은 첫 디스패치에서 센 값을 요청에 넘겨 두었다가 비동기 디스패치가 끝날 때 함께 기록한다.
+ */
+@RequiredArgsConstructor
+public class HibernateRequestMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String COUNTS_ATTRIBUTE = HibernateRequestMetricsInterceptor.class.getName() + ".counts";
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        HibernateRequestCounter.begin((HibernateRequestCounter.Counts) request.getAttribute(COUNTS_ATTRIBUTE));
+        request.removeAttribute(COUNTS_ATTRIBUTE);
+        return true;
+    }
+
+    // 비동기 처리가 시작되면 이 스레드에서는 afterCompletion이 불리지 않으므로 여기서 ThreadLocal을 비운다.
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        HibernateRequestCounter.Counts counts = HibernateRequestCounter.end();
+        if (counts != null) {
+            request.setAttribute(COUNTS_ATTRIBUTE, counts);
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        HibernateRequestCounter.Counts counts = HibernateRequestCounter.end();
+        if (counts == null) {
+            return;
+        }
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+
+        summary("calilog.hibernate.statements", request.getMethod(), uri).record(counts.getStatements());
+        summary("calilog.hibernate.entity.loads", request.getMethod(), uri).record(counts.getEntityLoads());
+    }
+
+    private DistributionSummary summary(String name, String method, String uri) {
+        return DistributionSummary.builder(name)
+                .tag("method", method)
+                .tag("uri", uri)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+}
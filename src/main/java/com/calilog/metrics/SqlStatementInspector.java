@@ -0,0 +1,29 @@
+package com.calilog.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 실행되는 SQL 수를 요청 단위로 세고, sampleRate 비율만큼만 SQL을 로그로 남긴다.
+ * show-sql 처럼 모든 SQL을 stdout에 찍으면 그 자체로 처리량이 떨어지기 때문에 기본은 0(로그 안 함)이다.
+ */
+@Slf4j(topic = "calilog.sql")
+public class SqlStatementInspector implements StatementInspector {
+
+    private final double sampleRate;
+
+    public SqlStatementInspector(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        HibernateRequestCounter.statementPrepared();
+        if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            log.info(sql);
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,95 @@
+package com.calilog.migration;
+
+import com.calilog.domain.Post;
+import com.calilog.domain.PostContentConverter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 압축 도입 전에 저장된 본문(헤더 없음)이나 압축 대상인데 그대로 저장된 본문을 다시 저장한다.
+ * id 순으로 나눠 읽고, 그 사이 글이 수정되었으면(version이 바뀌었으면) 건너뛴다.
+ */
+@Slf4j
+@Component
+public class PostContentMigration {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${calilog.post-content.migrate-on-startup:false}")
+    private boolean migrateOnStartup;
+
+    @Value("${calilog.post-content.migration-chunk-size:500}")
+    private int chunkSize;
+
+    public PostContentMigration(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // 기동을 막지 않도록 별도 스레드에서 변환한다. 중간에 멈춰도 다음 기동 때 남은 글부터 이어서 바꾼다.
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateOnStartup() {
+        if (!migrateOnStartup) {
+            return;
+        }
+        Thread migration = new Thread(() -> {
+            long started = System.currentTimeMillis();
+            long migrated = migrate();
+            log.info("게시글 본문 압축 변환 완료: {}건, {}ms", migrated, System.currentTimeMillis() - started);
+        }, "post-content-migration");
+        migration.setDaemon(true);
+        migration.start();
+    }
+
+    public long migrate() {
+        long migrated = 0;
+        long lastId = 0;
+        while (true) {
+            List<StoredContent> chunk = jdbcTemplate.query(
+                    "select id, content, excerpt, version from post where id > ? order by id limit ?",
+                    (rs, rowNum) -> new StoredContent(
+                            rs.getLong("id"),
+                            rs.getBytes("content"),
+                            rs.getString("excerpt"),
+                            rs.getLong("version")),
+                    lastId, chunkSize);
+            if (chunk.isEmpty()) {
+                return migrated;
+            }
+            lastId = chunk.get(chunk.size() - 1).id();
+
+            List<Object[]> updates = new ArrayList<>();
+            for (StoredContent stored : chunk) {
+                if (stored.content() == null
+                        || !PostContentConverter.needsMigration(stored.content()) && stored.excerpt() != null) {
+                    continue;
+                }
+                String content = PostContentConverter.decode(stored.content());
+                updates.add(new Object[]{
+                        PostContentConverter.encode(content),
+                        Post.excerptOf(content),
+                        stored.id(),
+                        stored.version()
+                });
+            }
+            if (updates.isEmpty()) {
+                continue;
+            }
+
+            int[] results = jdbcTemplate.batchUpdate(
+                    "update post set content = ?, excerpt = ? where id = ? and version = ?", updates);
+            for (int result : results) {
+                migrated += Math.max(result, 0);
+            }
+        }
+    }
+
+    private record StoredContent(long id, byte[] content, String excerpt, long version) {
+    }
+}
@@ -0,0 +1,76 @@
+package com.calilog.moderation;
+
+import com.calilog.exception.InvalidRequestException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * 게시글 제목/본문 금칙어 검사
+ * 금칙어 목록(한 줄에 한 단어, #으로 시작하면 주석)은 파일이 바뀌면 다시 읽어 오토마톤을 교체한다.
+ */
+@Slf4j
+@Component
+public class BannedWordFilter {
+
+    private final Resource dictionary;
+    private volatile BannedWordMatcher matcher = BannedWordMatcher.empty();
+    private volatile long loadedAt = -1L;
+
+    public BannedWordFilter(@Value("${calilog.moderation.banned-words:classpath:moderation/banned-words.txt}") Resource dictionary) {
+        this.dictionary = dictionary;
+        reload();
+    }
+
+    public void validate(String title, String content) {
+        BannedWordMatcher current = matcher;
+        if (current.findFirst(TextNormalizer.normalize(title)).isPresent()) {
+            throw new InvalidRequestException("title", "제목에 부적절한 단어가 감지되었습니다.");
+        }
+        if (current.findFirst(TextNormalizer.normalize(content)).isPresent()) {
+            throw new InvalidRequestException("content", "내용에 부적절한 단어가 감지되었습니다.");
+        }
+    }
+
+    public synchronized void reload() {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(dictionary.getInputStream(), StandardCharsets.UTF_8))) {
+            List<String> words = reader.lines()
+                    .map(String::trim)
+                    .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                    .toList();
+
+            matcher = BannedWordMatcher.of(words);
+            loadedAt = lastModified();
+            log.info("금칙어 {}건 로드: {}", matcher.size(), dictionary.getDescription());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${calilog.moderation.reload-interval:60000}")
+    public void reloadIfModified() {
+        long lastModified = lastModified();
+        if (lastModified > 0 && lastModified != loadedAt) {
+            reload();
+        }
+    }
+
+    private long lastModified() {
+        try {
+            return dictionary.lastModified();
+        } catch (IOException e) {
+            // jar 안의 classpath 리소스처럼 수정 시각을 알 수 없으면 자동 갱신하지 않는다.
+            return -1L;
+        }
+    }
+}
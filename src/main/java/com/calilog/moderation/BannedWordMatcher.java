@@ -0,0 +1,151 @@
+package com.calilog.moderation;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.TreeMap;
+
+/**
+ * Aho-Corasick 오토마톤
+ * 사전 크기와 상관없이 본문을 한 번만 훑어서 금칙어를 찾는다. 생성 후에는 변경되지 않으므로 여러 스레드가 공유해도 된다.
+ * 입력 단어와 검사할 본문은 모두 {@link TextNormalizer}로 정규화되어 있어야 한다.
+ */
+public final class BannedWordMatcher {
+
+    private static final int ROOT = 0;
+    private static final int NO_OUTPUT = -1;
+
+    // 상태별 전이. keys는 정렬되어 있어 이진 탐색한다.
+    private final char[][] keys;
+    private final int[][] targets;
+    private final int[] fail;
+    // 이 상태(또는 실패 링크를 따라간 상태)에서 끝나는 단어 인덱스
+    private final int[] output;
+    private final String[] words;
+
+    private BannedWordMatcher(char[][] keys, int[][] targets, int[] fail, int[] output, String[] words) {
+        this.keys = keys;
+        this.targets = targets;
+        this.fail = fail;
+        this.output = output;
+        this.words = words;
+    }
+
+    public static BannedWordMatcher of(Collection<String> dictionary) {
+        List<String> words = dictionary.stream()
+                .map(TextNormalizer::normalize)
+                .filter(word -> !word.isEmpty())
+                .distinct()
+                .toList();
+
+        // 1. trie 구성
+        List<Map<Character, Integer>> trie = new ArrayList<>();
+        List<Integer> terminal = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        terminal.add(NO_OUTPUT);
+
+        for (int w = 0; w < words.size(); w++) {
+            int state = ROOT;
+            for (char c : words.get(w).toCharArray()) {
+                Integer next = trie.get(state).get(c);
+                if (next == null) {
+                    next = trie.size();
+                    trie.get(state).put(c, next);
+                    trie.add(new TreeMap<>());
+                    terminal.add(NO_OUTPUT);
+                }
+                state = next;
+            }
+            terminal.set(state, w);
+        }
+
+        // 2. 배열로 압축
+        int size = trie.size();
+        char[][] keys = new char[size][];
+        int[][] targets = new int[size][];
+        for (int state = 0; state < size; state++) {
+            Map<Character, Integer> edges = trie.get(state);
+            keys[state] = new char[edges.size()];
+            targets[state] = new int[edges.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> edge : edges.entrySet()) {
+                keys[state][i] = edge.getKey();
+                targets[state][i] = edge.getValue();
+                i++;
+            }
+        }
+
+        // 3. BFS로 실패 링크와 출력 계산
+        int[] fail = new int[size];
+        int[] output = new int[size];
+        Arrays.fill(output, NO_OUTPUT);
+
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int child : targets[ROOT]) {
+            fail[child] = ROOT;
+            output[child] = terminal.get(child);
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int i = 0; i < keys[state].length; i++) {
+                char c = keys[state][i];
+                int child = targets[state][i];
+
+                int f = fail[state];
+                int next = transition(keys, targets, f, c);
+                while (next < 0 && f != ROOT) {
+                    f = fail[f];
+                    next = transition(keys, targets, f, c);
+                }
+                fail[child] = next < 0 ? ROOT : next;
+
+                int own = terminal.get(child);
+                output[child] = own != NO_OUTPUT ? own : output[fail[child]];
+                queue.add(child);
+            }
+        }
+
+        return new BannedWordMatcher(keys, targets, fail, output, words.toArray(String[]::new));
+    }
+
+    public static BannedWordMatcher empty() {
+        return of(List.of());
+    }
+
+    /**
+     * 처음 발견된 금칙어(정규화된 형태)를 반환한다.
+     */
+    public Optional<String> findFirst(String normalizedText) {
+        int state = ROOT;
+        for (int i = 0; i < normalizedText.length(); i++) {
+            char c = normalizedText.charAt(i);
+
+            int next = transition(keys, targets, state, c);
+            while (next < 0 && state != ROOT) {
+                state = fail[state];
+                next = transition(keys, targets, state, c);
+            }
+            state = next < 0 ? ROOT : next;
+
+            if (output[state] != NO_OUTPUT) {
+                return Optional.of(words[output[state]]);
+            }
+        }
+        return Optional.empty();
+    }
+
+    public int size() {
+        return words.length;
+    }
+
+    private static int transition(char[][] keys, int[][] targets, int state, char c) {
+        int index = Arrays.binarySearch(keys[state], c);
+        return index < 0 ? -1 : targets[state][index];
+    }
+}
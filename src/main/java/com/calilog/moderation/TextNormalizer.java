@@ -0,0 +1,53 @@
+package com.calilog.moderation;
+
+import java.text.Normalizer;
+import java.util.Locale;
+
+/**
+ * 금칙어 비교 전에 우회 표현을 걷어낸다.
+ * - NFKC: 전각 문자를 반각으로, 호환용 자모를 완성형 음절로 합친다. ("ㅂㅏㅂㅗ" -> "바보", "ＢＡＢＯ" -> "BABO")
+ * - 소문자화
+ * - 글자와 숫자만 남기고 나머지(공백, 특수문자)는 구분자로 본다. 구분자는 공백 하나로 줄여 단어 경계를 남긴다.
+ * - 한 글자씩 떼어 쓴 경우("바 보", "바.보")만 구분자를 지워 붙인다. 단어 경계를 넘어서는 매칭하지 않는다. ("그 바 보다" -> "그바 보다")
+ * 금칙어 사전도 같은 방식으로 정규화하므로 숫자가 들어간 금칙어도 그대로 비교된다.
+ */
+public final class TextNormalizer {
+
+    private static final char SEPARATOR = ' ';
+
+    private TextNormalizer() {
+    }
+
+    public static String normalize(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        String composed = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+
+        StringBuilder sb = new StringBuilder(composed.length());
+        int previousRunLength = 0;
+        int runStart = -1;
+        for (int i = 0; i <= composed.length(); i++) {
+            boolean inRun = i < composed.length() && Character.isLetterOrDigit(composed.charAt(i));
+            if (inRun) {
+                if (runStart < 0) {
+                    runStart = i;
+                }
+                continue;
+            }
+            if (runStart < 0) {
+                continue;
+            }
+
+            int runLength = i - runStart;
+            boolean spelledOut = previousRunLength == 1 && runLength == 1;
+            if (previousRunLength > 0 && !spelledOut) {
+                sb.append(SEPARATOR);
+            }
+            sb.append(composed, runStart, i);
+            previousRunLength = runLength;
+            runStart = -1;
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,9 @@
+package com.calilog.ranking;
+
+import java.util.Map;
+
+/**
+ * 인기 글 점수를 파일로 남긴 형태. half-life가 바뀌면 점수의 의미가 달라지므로 같이 저장한다.
+ */
+public record PopularPostSnapshot(long halfLifeMillis, Map<Long, Double> scores) {
+}
@@ -0,0 +1,138 @@
+package com.calilog.ranking;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * 인기 글 순위. 조회와 작성 시점에 점수를 더해 가며 점수가 높은 글 capacity개만 메모리에 들고 있다.
+ *
+ * 점수는 시간이 지나면 half-life마다 절반으로 줄어야 하지만, 모든 글을 주기적으로 깎는 대신
+ * 더하는 값을 시각에 따라 키운다. (weight * 2^(t / half-life), 넘치지 않도록 log2로 저장)
+ * 그러면 이미 더해진 점수는 바꾸지 않아도 순서가 감쇠한 점수의 순서와 같다.
+ */
+@Component
+public class PopularPosts {
+
+    private static final double LN_2 = Math.log(2);
+
+    private final long halfLifeMillis;
+    private final int capacity;
+    private final int maxSize;
+
+    // 아래 두 자료구조는 this로 잠그고 바꾼다. ranking의 정렬 기준이 scores이므로 점수를 바꿀 때는 뺐다가 다시 넣는다.
+    private final Map<Long, Double> scores = new HashMap<>();
+    private final NavigableSet<Long> ranking = new TreeSet<>(this::compare);
+
+    // 조회는 잠금 없이 이 목록을 읽는다.
+    private volatile List<Long> top = List.of();
+
+    public PopularPosts(@Value("${calilog.popular.half-life:6h}") Duration halfLife,
+                        @Value("${calilog.popular.capacity:1000}") int capacity,
+                        @Value("${calilog.popular.max-size:100}") int maxSize) {
+        this.halfLifeMillis = halfLife.toMillis();
+        this.capacity = capacity;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * 점수가 높은 순서로 최대 size개 (max-size를 넘을 수 없다)
+     */
+    public List<Long> top(int size) {
+        List<Long> current = top;
+        return current.subList(0, Math.min(Math.max(0, size), current.size()));
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getHalfLifeMillis() {
+        return halfLifeMillis;
+    }
+
+    /**
+     * at 시각에 weight만큼 점수를 더한다. (글 id -> weight)
+     */
+    public synchronized void add(Map<Long, Double> weights, Instant at) {
+        weights.forEach((postId, weight) -> {
+            double added = score(weight, at);
+            Double previous = scores.get(postId);
+            update(postId, previous == null ? added : logSum(previous, added));
+        });
+        trimAndRefresh();
+    }
+
+    /**
+     * 스냅샷이나 DB로 다시 만들 때 계산해 둔 점수를 그대로 넣는다.
+     */
+    public synchronized void put(Map<Long, Double> postScores) {
+        postScores.forEach(this::update);
+        trimAndRefresh();
+    }
+
+    public synchronized void remove(Collection<Long> postIds) {
+        for (Long postId : postIds) {
+            if (scores.containsKey(postId)) {
+                ranking.remove(postId);
+                scores.remove(postId);
+            }
+        }
+        trimAndRefresh();
+    }
+
+    public synchronized void clear() {
+        ranking.clear();
+        scores.clear();
+        top = List.of();
+    }
+
+    public synchronized Map<Long, Double> scores() {
+        return Map.copyOf(scores);
+    }
+
+    /**
+     * at 시각에 더한 weight의 점수 (log2)
+     */
+    public double score(double weight, Instant at) {
+        return Math.log(weight) / LN_2 + (double) at.toEpochMilli() / halfLifeMillis;
+    }
+
+    private void update(Long postId, double score) {
+        if (scores.containsKey(postId)) {
+            ranking.remove(postId);
+        }
+        scores.put(postId, score);
+        ranking.add(postId);
+    }
+
+    // 점수가 가장 낮은 글부터 뺀다. 빠진 글은 다음 조회부터 다시 점수를 쌓는다.
+    private void trimAndRefresh() {
+        while (ranking.size() > capacity) {
+            scores.remove(ranking.pollLast());
+        }
+        top = ranking.stream()
+                .limit(maxSize)
+                .toList();
+    }
+
+    private int compare(Long a, Long b) {
+        int byScore = Double.compare(scores.get(b), scores.get(a));
+        return byScore != 0 ? byScore : Long.compare(b, a);
+    }
+
+    // log2(2^a + 2^b)
+    private static double logSum(double a, double b) {
+        double max = Math.max(a, b);
+        double min = Math.min(a, b);
+        return max + Math.log1p(Math.pow(2, min - max)) / LN_2;
+    }
+}
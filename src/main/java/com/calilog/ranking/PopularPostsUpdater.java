@@ -0,0 +1,173 @@
+package com.calilog.ranking;
+
+import com.calilog.event.PostChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 작성/삭제 이벤트와 PostViewCounter가 저장한 조회수를 받아 인기 글 순위를 갱신하고, 주기적으로 스냅샷 파일에 남긴다.
+ * 기동할 때는 스냅샷을 읽고(DB에 남아 있는 글만), 없으면 DB의 조회수와 수정 시각으로 대략 다시 만든다.
+ * 비정상 종료 시에는 마지막 스냅샷 이후의 점수 변화를 잃는다.
+ */
+@Slf4j
+@Component
+public class PopularPostsUpdater {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private final PopularPosts popularPosts;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    // 새 글은 조회 몇 번만큼의 점수로 시작한다.
+    @Value("${calilog.popular.created-weight:10}")
+    private double createdWeight;
+
+    // 비어 있으면 스냅샷을 남기지 않는다.
+    @Value("${calilog.popular.snapshot.path:}")
+    private String snapshotPath;
+
+    public PopularPostsUpdater(PopularPosts popularPosts, JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.popularPosts = popularPosts;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void update(PostChangedEvent event) {
+        switch (event.getType()) {
+            case CREATED -> popularPosts.add(event.getPostIds().stream()
+                    .collect(Collectors.toMap(postId -> postId, postId -> createdWeight, (a, b) -> a)), Instant.now());
+            case DELETED -> popularPosts.remove(event.getPostIds());
+            case EDITED -> {
+            }
+        }
+    }
+
+    /**
+     * PostViewCounter가 DB에 저장한 조회수 (글 id -> 이번에 더한 조회수)
+     */
+    public void recordViews(Map<Long, Long> views) {
+        Map<Long, Double> weights = new HashMap<>();
+        views.forEach((postId, count) -> weights.put(postId, (double) count));
+        popularPosts.add(weights, Instant.now());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void restoreOnStartup() {
+        long started = System.currentTimeMillis();
+        if (restore()) {
+            log.info("인기 글 순위 스냅샷 복원 완료: {}ms", System.currentTimeMillis() - started);
+            return;
+        }
+        long scanned = rebuild();
+        log.info("인기 글 순위 재생성 완료: {}건, {}ms", scanned, System.currentTimeMillis() - started);
+    }
+
+    /**
+     * 스냅샷 파일이 있고 half-life가 같으면 그 점수로 순위를 채운다. DB에 없는 글의 점수는 버린다.
+     */
+    public boolean restore() {
+        if (snapshotPath.isBlank() || !Files.exists(Path.of(snapshotPath))) {
+            return false;
+        }
+        try {
+            PopularPostSnapshot snapshot = objectMapper.readValue(Path.of(snapshotPath).toFile(), PopularPostSnapshot.class);
+            if (snapshot.halfLifeMillis() != popularPosts.getHalfLifeMillis()) {
+                log.info("half-life가 바뀌어 인기 글 스냅샷을 쓰지 않습니다.");
+                return false;
+            }
+            Map<Long, Double> scores = existing(snapshot.scores());
+            if (scores.size() < snapshot.scores().size()) {
+                log.info("DB에 없는 글 {}건의 인기 글 점수를 버립니다.", snapshot.scores().size() - scores.size());
+            }
+            popularPosts.clear();
+            popularPosts.put(scores);
+            return true;
+        } catch (IOException e) {
+            log.warn("인기 글 스냅샷을 읽지 못했습니다. DB로 다시 만듭니다.", e);
+            return false;
+        }
+    }
+
+    /**
+     * 조회가 모두 마지막 수정 시각에 일어났다고 보고 점수를 다시 계산한다. (스냅샷이 없을 때만 쓰는 근사치)
+     */
+    public long rebuild() {
+        popularPosts.clear();
+
+        Map<Long, Double> chunk = new HashMap<>();
+        long[] scanned = {0};
+        jdbcTemplate.query("select id, view_count, updated_at from post", rs -> {
+            Timestamp updatedAt = rs.getTimestamp("updated_at");
+            Instant at = updatedAt == null ? Instant.EPOCH : updatedAt.toInstant();
+            chunk.put(rs.getLong("id"), popularPosts.score(createdWeight + rs.getLong("view_count"), at));
+            scanned[0]++;
+            if (chunk.size() == CHUNK_SIZE) {
+                popularPosts.put(chunk);
+                chunk.clear();
+            }
+        });
+        popularPosts.put(chunk);
+        return scanned[0];
+    }
+
+    // 스냅샷 이후 지워졌거나 DB가 새로 만들어진 경우(인메모리 DB 재시작) 같은 id를 받은 새 글이 이전 점수를 이어받지 않도록 한다.
+    private Map<Long, Double> existing(Map<Long, Double> scores) {
+        List<Long> postIds = new ArrayList<>(scores.keySet());
+        Map<Long, Double> existing = new HashMap<>();
+        for (int from = 0; from < postIds.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = postIds.subList(from, Math.min(from + CHUNK_SIZE, postIds.size()));
+            String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+            jdbcTemplate.queryForList("select id from post where id in (" + placeholders + ")", Long.class, chunk.toArray())
+                    .forEach(postId -> existing.put(postId, scores.get(postId)));
+        }
+        return existing;
+    }
+
+    @Scheduled(fixedDelayString = "${calilog.popular.snapshot.interval:60000}",
+            initialDelayString = "${calilog.popular.snapshot.interval:60000}")
+    public void snapshot() {
+        if (snapshotPath.isBlank()) {
+            return;
+        }
+        // 쓰다가 죽어도 이전 스냅샷이 남도록 임시 파일에 쓰고 바꿔 끼운다.
+        Path target = Path.of(snapshotPath);
+        try {
+            Path directory = target.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+            objectMapper.writeValue(temp.toFile(),
+                    new PopularPostSnapshot(popularPosts.getHalfLifeMillis(), popularPosts.scores()));
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("인기 글 스냅샷을 저장하지 못했습니다.", e);
+        }
+    }
+
+    @PreDestroy
+    public void snapshotOnShutdown() {
+        snapshot();
+    }
+}
@@ -0,0 +1,30 @@
+package com.calilog.repository;
+
+/**
+ * Hibernate pooled 옵티마이저와 같은 규칙으로 시퀀스 값 하나당 id 블록을 쓴다.
+ * 시퀀스 값 v는 (v - allocationSize, v] 구간을 뜻하고, 첫 값(1)만 1 하나를 뜻한다.
+ * JPA를 거치지 않고 post를 저장하는 곳(R2DBC, write-behind)에서 Post 엔티티와 겹치지 않는 id를 받는다.
+ */
+public class PostIdBlock {
+
+    private final int allocationSize;
+    private long next;
+    private long hi = -1;
+
+    public PostIdBlock(int allocationSize) {
+        this.allocationSize = allocationSize;
+    }
+
+    /**
+     * 블록에 남은 id가 없으면 null
+     */
+    public synchronized Long poll() {
+        return next <= hi ? next++ : null;
+    }
+
+    public synchronized Long refill(long sequenceValue) {
+        this.hi = sequenceValue;
+        this.next = Math.max(1, sequenceValue - allocationSize + 1);
+        return next++;
+    }
+}
@@ -2,10 +2,74 @@ package com.calilog.repository;
 
 import com.calilog.domain.Post;
 import com.calilog.request.PostSearch;
+import com.calilog.response.PostSummary;
+import com.calilog.response.PostVersion;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface PostRepositoryCustom {
 
-    List<Post> getList(PostSearch postSearch);
+    List<PostSummary> getList(PostSearch postSearch);
+
+    /**
+     * 커서(id) 기준으로 size + 1건을 커서에서 가까운 순서대로 조회한다.
+     * after(또는 커서 없음)는 id 내림차순, before는 id 오름차순이다.
+     */
+    List<PostSummary> getListByCursor(PostSearch postSearch);
+
+    /**
+     * content를 읽지 않고 버전 정보만 조회한다.
+     */
+    Optional<PostVersion> getVersion(Long postId);
+
+    /**
+     * null이 아닌 컬럼만 UPDATE 한다. expectedVersion이 주어지면 버전이 같을 때만 반영한다.
+     *
+     * @return 변경된 행 수
+     */
+    long update(Long postId, Long expectedVersion, String title, String content);
+
+    /**
+     * 엔티티를 읽지 않고 DELETE 한 번으로 지운다.
+     *
+     * @return 삭제된 행 수
+     */
+    long removeById(Long postId);
+
+    /**
+     * chunkSize 개씩 나눠 지운다. 실제로 존재해서 삭제된 id만 반환한다.
+     */
+    List<Long> removeAllById(Collection<Long> postIds, int chunkSize);
+
+    /**
+     * 순서는 보장하지 않으며, 존재하지 않는 id는 결과에서 빠진다.
+     */
+    List<PostSummary> getSummariesByIds(Collection<Long> postIds);
+
+    /**
+     * id 목록을 chunkSize개씩 나눠 IN 절로 조회한다. 없는 id는 결과에서 빠지고, 순서는 보장하지 않는다.
+     */
+    List<Post> findAllByIds(Collection<Long> postIds, int chunkSize);
+
+    /**
+     * batchSize 단위로 flush/clear 하면서 저장한다. 대량 등록시 영속성 컨텍스트가 계속 커지는 것을 막는다.
+     */
+    List<Long> saveAllInBatches(List<Post> posts, int batchSize);
+
+    /**
+     * sinceId 이후의 글을 id 순서로 한 건씩 흘려보낸다. 읽은 엔티티는 바로 detach 되므로 메모리가 쌓이지 않는다.
+     * 트랜잭션 안에서 호출하고 반드시 close 해야 한다.
+     */
+    Stream<Post> streamAll(Long sinceId, int fetchSize);
+
+    /**
+     * 본문을 String으로 만들지 않고 DB에서 읽는 대로 복원해 outputStream에 쓴다. 글이 없으면 false
+     * 트랜잭션 안에서 호출해야 한다.
+     */
+    boolean copyContent(Long postId, OutputStream outputStream) throws IOException;
 }
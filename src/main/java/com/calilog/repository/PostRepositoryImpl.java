@@ -1,12 +1,35 @@
 package com.calilog.repository;
 
+import com.calilog.config.SecondLevelCacheConfig;
 import com.calilog.domain.Post;
+import com.calilog.domain.PostContentConverter;
 import com.calilog.domain.QPost;
 import com.calilog.request.PostSearch;
+import com.calilog.response.PostSummary;
+import com.calilog.response.PostVersion;
+import com.querydsl.core.types.Projections;
+import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.querydsl.jpa.impl.JPAUpdateClause;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.hibernate.jpa.QueryHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 import static com.calilog.domain.QPost.post;
 
@@ -14,12 +37,195 @@ import static com.calilog.domain.QPost.post;
 public class PostRepositoryImpl implements PostRepositoryCustom {
 
     private final JPAQueryFactory jpaQueryFactory;
+    private final EntityManager entityManager;
+
+    // 2차 캐시를 켰을 때 앞쪽 몇 페이지만 쿼리 캐시에 둔다. 뒤쪽 페이지는 조회가 드물어 캐시만 차지한다.
+    @Value("${calilog.cache.l2.cached-list-pages:3}")
+    private int cachedListPages;
 
     @Override
-    public List<Post> getList(PostSearch postSearch) {
-        return jpaQueryFactory.selectFrom(post)
-                .limit(postSearch.getSize())
-                .offset((long) (postSearch.getPage() - 1) * 10)
+    public List<PostSummary> getList(PostSearch postSearch) {
+        JPAQuery<PostSummary> query = selectSummary()
+                .limit(postSearch.getLimit())
+                .offset(postSearch.getOffset());
+
+        if (postSearch.getPage() <= cachedListPages) {
+            query.setHint(QueryHints.HINT_CACHEABLE, true)
+                    .setHint(QueryHints.HINT_CACHE_REGION, SecondLevelCacheConfig.POST_LIST_REGION);
+        }
+        return query.fetch();
+    }
+
+    @Override
+    public List<PostSummary> getListByCursor(PostSearch postSearch) {
+        Long beforeId = postSearch.getBeforeId();
+        if (beforeId != null) {
+            return selectSummary()
+                    .where(post.id.gt(beforeId))
+                    .orderBy(post.id.asc())
+                    .limit(postSearch.getLimit() + 1)
+                    .fetch();
+        }
+
+        Long afterId = postSearch.getAfterId();
+        return selectSummary()
+                .where(afterId == null ? null : post.id.lt(afterId))
+                .orderBy(post.id.desc())
+                .limit(postSearch.getLimit() + 1)
+                .fetch();
+    }
+
+    // 캐시에 없을 때만 호출되므로 서비스가 아닌 여기서 읽기 전용 트랜잭션을 연다. (캐시 적중 시 커넥션을 꺼내지 않는다)
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<PostVersion> getVersion(Long postId) {
+        return Optional.ofNullable(jpaQueryFactory.select(Projections.constructor(PostVersion.class,
+                        post.id,
+                        post.version,
+                        post.updatedAt))
+                .from(post)
+                .where(post.id.eq(postId))
+                .fetchOne());
+    }
+
+    @Override
+    public long update(Long postId, Long expectedVersion, String title, String content) {
+        JPAUpdateClause update = jpaQueryFactory.update(post)
+                .set(post.version, post.version.add(1))
+                .set(post.updatedAt, LocalDateTime.now())
+                .where(post.id.eq(postId),
+                        expectedVersion == null ? null : post.version.eq(expectedVersion));
+
+        if (title != null) {
+            update.set(post.title, title);
+        }
+        if (content != null) {
+            update.set(post.content, content)
+                    .set(post.excerpt, Post.excerptOf(content));
+        }
+        return update.execute();
+    }
+
+    @Override
+    public long removeById(Long postId) {
+        return jpaQueryFactory.delete(post)
+                .where(post.id.eq(postId))
+                .execute();
+    }
+
+    @Override
+    public List<Long> removeAllById(Collection<Long> postIds, int chunkSize) {
+        List<Long> distinctIds = postIds.stream().distinct().toList();
+        List<Long> removedIds = new ArrayList<>(distinctIds.size());
+
+        for (int from = 0; from < distinctIds.size(); from += chunkSize) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + chunkSize, distinctIds.size()));
+
+            List<Long> existingIds = jpaQueryFactory.select(post.id)
+                    .from(post)
+                    .where(post.id.in(chunk))
+                    .fetch();
+            if (existingIds.isEmpty()) {
+                continue;
+            }
+
+            jpaQueryFactory.delete(post)
+                    .where(post.id.in(existingIds))
+                    .execute();
+            removedIds.addAll(existingIds);
+        }
+        return removedIds;
+    }
+
+    @Override
+    public List<PostSummary> getSummariesByIds(Collection<Long> postIds) {
+        if (postIds.isEmpty()) {
+            return List.of();
+        }
+        return selectSummary()
+                .where(post.id.in(postIds))
                 .fetch();
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Post> findAllByIds(Collection<Long> postIds, int chunkSize) {
+        List<Long> distinctIds = postIds.stream().distinct().toList();
+        List<Post> posts = new ArrayList<>(distinctIds.size());
+
+        for (int from = 0; from < distinctIds.size(); from += chunkSize) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + chunkSize, distinctIds.size()));
+            posts.addAll(jpaQueryFactory.selectFrom(post)
+                    .where(post.id.in(chunk))
+                    .fetch());
+        }
+        return posts;
+    }
+
+    @Override
+    public List<Long> saveAllInBatches(List<Post> posts, int batchSize) {
+        List<Long> postIds = new ArrayList<>(posts.size());
+        for (int i = 0; i < posts.size(); i++) {
+            Post post = posts.get(i);
+            entityManager.persist(post);
+            postIds.add(post.getId());
+
+            if ((i + 1) % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return postIds;
+    }
+
+    @Override
+    public Stream<Post> streamAll(Long sinceId, int fetchSize) {
+        return jpaQueryFactory.selectFrom(post)
+                .where(sinceId == null ? null : post.id.gt(sinceId))
+                .orderBy(post.id.asc())
+                .setHint(QueryHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(QueryHints.HINT_READONLY, true)
+                .stream()
+                .peek(entityManager::detach);
+    }
+
+    // 방금 쓴 글은 서비스가 쓰기 트랜잭션(primary) 안에서 부르고, 그 밖에는 여기서 읽기 전용 트랜잭션을 연다.
+    @Override
+    @Transactional(readOnly = true)
+    public boolean copyContent(Long postId, OutputStream outputStream) throws IOException {
+        try {
+            return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement("select content from post where id = ?")) {
+                    statement.setLong(1, postId);
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        if (!resultSet.next()) {
+                            return false;
+                        }
+                        InputStream stored = resultSet.getBinaryStream(1);
+                        if (stored != null) {
+                            try (InputStream content = PostContentConverter.decode(stored)) {
+                                content.transferTo(outputStream);
+                            }
+                        }
+                        return true;
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private JPAQuery<PostSummary> selectSummary() {
+        return jpaQueryFactory.select(Projections.constructor(PostSummary.class,
+                        post.id,
+                        post.title,
+                        post.excerpt,
+                        post.version))
+                .from(post);
+    }
 }
@@ -0,0 +1,177 @@
+package com.calilog.repository;
+
+import com.calilog.domain.Post;
+import com.calilog.domain.PostContentConverter;
+import com.calilog.request.PostSearch;
+import com.calilog.response.PostResponse;
+import com.calilog.response.PostSummary;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Row;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import javax.annotation.PreDestroy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * WebFlux 스택용 R2DBC 저장소
+ * JPA와 같은 post 테이블을 쓰므로 컬럼과 id 할당 방식은 Post 엔티티와 맞춘다.
+ * 커넥션은 r2dbc-pool로 재사용한다. (MVC 스택의 Hikari와 같은 조건으로 비교하도록 기본 크기를 Hikari 기본값과 맞춘다)
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactivePostRepository {
+
+    private final ConnectionPool connectionPool;
+    private final DatabaseClient databaseClient;
+    private final PostIdBlock postIdBlock = new PostIdBlock(Post.ID_ALLOCATION_SIZE);
+
+    public ReactivePostRepository(@Value("${calilog.reactive.r2dbc-url:r2dbc:h2:mem:///calilog?options=DB_CLOSE_DELAY=-1}") String url,
+                                  @Value("${spring.datasource.username:sa}") String username,
+                                  @Value("${spring.datasource.password:}") String password,
+                                  @Value("${calilog.reactive.pool.max-size:10}") int maxPoolSize,
+                                  @Value("${calilog.reactive.pool.max-acquire-time:30s}") Duration maxAcquireTime) {
+        ConnectionFactory connectionFactory = ConnectionFactories.get(ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build());
+        this.connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+                .name("calilog-reactive")
+                .initialSize(maxPoolSize)
+                .maxSize(maxPoolSize)
+                .maxAcquireTime(maxAcquireTime)
+                .build());
+        this.databaseClient = DatabaseClient.create(connectionPool);
+    }
+
+    @PreDestroy
+    public void close() {
+        connectionPool.dispose();
+    }
+
+    public Flux<PostSummary> getList(PostSearch postSearch) {
+        return databaseClient.sql("select id, title, excerpt, version from post order by id limit :limit offset :offset")
+                .bind("limit", postSearch.getLimit())
+                .bind("offset", postSearch.getOffset())
+                .map((row, metadata) -> PostSummary.builder()
+                        .id(row.get("id", Long.class))
+                        .title(row.get("title", String.class))
+                        .excerpt(row.get("excerpt", String.class))
+                        .version(row.get("version", Long.class))
+                        .build())
+                .all();
+    }
+
+    public Mono<PostResponse> findById(Long postId) {
+        return databaseClient.sql("select id, title, content, view_count, version, updated_at from post where id = :id")
+                .bind("id", postId)
+                .map((row, metadata) -> toPostResponse(row))
+                .one();
+    }
+
+    public Mono<Long> insert(String title, String content) {
+        return nextId()
+                .flatMap(postId -> databaseClient.sql("insert into post (id, title, content, excerpt, version, updated_at)"
+                                + " values (:id, :title, :content, :excerpt, 0, :updatedAt)")
+                        .bind("id", postId)
+                        .bind("title", title)
+                        .bind("content", PostContentConverter.encode(content))
+                        .bind("excerpt", Post.excerptOf(content))
+                        .bind("updatedAt", LocalDateTime.now())
+                        .fetch()
+                        .rowsUpdated()
+                        .thenReturn(postId));
+    }
+
+    /**
+     * 바뀐 컬럼만 갱신하고 버전을 올린다. expectedVersion이 있으면 버전이 같을 때만 갱신한다.
+     */
+    public Mono<Integer> update(Long postId, Long expectedVersion, String title, String content) {
+        StringBuilder sql = new StringBuilder("update post set version = version + 1, updated_at = :updatedAt");
+        if (title != null) {
+            sql.append(", title = :title");
+        }
+        if (content != null) {
+            sql.append(", content = :content, excerpt = :excerpt");
+        }
+        sql.append(" where id = :id");
+        if (expectedVersion != null) {
+            sql.append(" and version = :version");
+        }
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString())
+                .bind("updatedAt", LocalDateTime.now())
+                .bind("id", postId);
+        if (title != null) {
+            spec = spec.bind("title", title);
+        }
+        if (content != null) {
+            spec = spec.bind("content", PostContentConverter.encode(content))
+                    .bind("excerpt", Post.excerptOf(content));
+        }
+        if (expectedVersion != null) {
+            spec = spec.bind("version", expectedVersion);
+        }
+        return spec.fetch().rowsUpdated();
+    }
+
+    public Mono<Boolean> existsById(Long postId) {
+        return databaseClient.sql("select count(*) as cnt from post where id = :id")
+                .bind("id", postId)
+                .map((row, metadata) -> row.get("cnt", Long.class) > 0)
+                .one();
+    }
+
+    public Mono<Integer> removeById(Long postId) {
+        return databaseClient.sql("delete from post where id = :id")
+                .bind("id", postId)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private Mono<Long> nextId() {
+        return Mono.defer(() -> {
+            Long postId = postIdBlock.poll();
+            if (postId != null) {
+                return Mono.just(postId);
+            }
+            return databaseClient.sql("select next value for post_seq as next_value")
+                    .map((row, metadata) -> row.get("next_value", Long.class))
+                    .one()
+                    .map(postIdBlock::refill);
+        });
+    }
+
+    private PostResponse toPostResponse(Row row) {
+        return PostResponse.builder()
+                .id(row.get("id", Long.class))
+                .title(row.get("title", String.class))
+                .content(PostContentConverter.decode(readBytes(row, "content")))
+                .viewCount(row.get("view_count", Long.class))
+                .version(row.get("version", Long.class))
+                .updatedAt(row.get("updated_at", LocalDateTime.class))
+                .build();
+    }
+
+    // r2dbc-h2는 BLOB을 byte[]로 바로 꺼내지 못한다.
+    private static byte[] readBytes(Row row, String column) {
+        ByteBuffer buffer = row.get(column, ByteBuffer.class);
+        if (buffer == null) {
+            return null;
+        }
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+}
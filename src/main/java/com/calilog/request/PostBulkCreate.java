@@ -0,0 +1,26 @@
+package com.calilog.request;
+
+import lombok.*;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+public class PostBulkCreate {
+
+    public static final int MAX_POSTS = 10000;
+
+    @NotEmpty(message = "등록할 글을 입력해주세요.")
+    @Size(max = MAX_POSTS, message = "한 번에 등록할 수 있는 글은 최대 10000건입니다.")
+    private List<@Valid PostCreate> posts;
+
+    @Builder
+    public PostBulkCreate(List<PostCreate> posts) {
+        this.posts = posts;
+    }
+}
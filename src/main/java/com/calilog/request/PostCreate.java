@@ -1,6 +1,5 @@
 package com.calilog.request;
 
-import com.calilog.exception.InvalidRequestException;
 import lombok.*;
 
 import javax.validation.constraints.NotBlank;
@@ -21,10 +20,4 @@ public class PostCreate {
         this.title = title;
         this.content = content;
     }
-
-    public void validate() {
-        if (this.content.contains("바보")) {
-            throw new InvalidRequestException("title", "내용에 부적절한 단어가 감지되었습니다.");
-        }
-    }
 }
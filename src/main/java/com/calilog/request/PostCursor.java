@@ -0,0 +1,38 @@
+package com.calilog.request;
+
+import com.calilog.exception.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 커서 페이징에 사용하는 불투명(opaque) 커서
+ * 클라이언트는 값의 구조에 의존하지 말고 응답으로 받은 커서를 그대로 돌려보내야 한다.
+ */
+public final class PostCursor {
+
+    private static final String PREFIX = "post:";
+
+    private PostCursor() {
+    }
+
+    public static String encode(Long postId) {
+        if (postId == null) {
+            return null;
+        }
+        byte[] raw = (PREFIX + postId).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    public static Long decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) {
+                throw new IllegalArgumentException(raw);
+            }
+            return Long.parseLong(raw.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("cursor", "잘못된 커서입니다.");
+        }
+    }
+}
@@ -1,10 +1,8 @@
 package com.calilog.request;
 
-import com.calilog.domain.Post;
-import com.calilog.domain.PostEditor;
 import lombok.*;
 
-import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Pattern;
 
 @Getter
 @Setter
@@ -12,9 +10,12 @@ import javax.validation.constraints.NotBlank;
 @NoArgsConstructor
 public class PostEdit {
 
-    @NotBlank(message = "제목을 입력해주세요.")
+    // 부분 수정: null이면 기존 값을 유지하고, 값이 있으면 공백일 수 없다.
+    private static final String NOT_BLANK = "(?s).*\\S.*";
+
+    @Pattern(regexp = NOT_BLANK, message = "제목을 입력해주세요.")
     private String title;
-    @NotBlank(message = "내용을 입력해주세요.")
+    @Pattern(regexp = NOT_BLANK, message = "내용을 입력해주세요.")
     private String content;
 
     @Builder
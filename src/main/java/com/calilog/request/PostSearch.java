@@ -11,14 +11,42 @@ import lombok.Setter;
 @NoArgsConstructor
 public class PostSearch {
 
+    private static final int MAX_SIZE = 2000;
+
     @Builder.Default
     private Integer page = 1;
     @Builder.Default
     private Integer size = 10;
 
-    public PostSearch(Integer page, Integer size) {
+    // 커서 모드 전용. 이전 응답의 nextCursor / prevCursor 값을 그대로 넘겨받는다.
+    private String after;
+    private String before;
+
+    // 검색 전용
+    private String keyword;
+
+    public PostSearch(Integer page, Integer size, String after, String before, String keyword) {
         this.page = page;
         this.size = size;
+        this.after = after;
+        this.before = before;
+        this.keyword = keyword;
+    }
+
+    public int getLimit() {
+        return Math.min(Math.max(1, size), MAX_SIZE);
+    }
+
+    public long getOffset() {
+        return (long) (Math.max(1, page) - 1) * getLimit();
+    }
+
+    public Long getAfterId() {
+        return after == null ? null : PostCursor.decode(after);
+    }
+
+    public Long getBeforeId() {
+        return before == null ? null : PostCursor.decode(before);
     }
 
     @Override
@@ -26,6 +54,9 @@ public class PostSearch {
         return "PostSearch{" +
                 "page=" + page +
                 ", size=" + size +
+                ", after='" + after + '\'' +
+                ", before='" + before + '\'' +
+                ", keyword='" + keyword + '\'' +
                 '}';
     }
 }
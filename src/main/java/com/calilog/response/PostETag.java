@@ -0,0 +1,50 @@
+package com.calilog.response;
+
+import com.calilog.exception.InvalidRequestException;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * 게시글 ETag 생성
+ * 단 건은 id와 version으로, 목록은 목록에 포함된 글들의 id/version 조합으로 만든다.
+ * version은 제목/본문이 바뀔 때만 올라가므로 viewCount는 검증 대상이 아니다. 304를 받은 클라이언트의 viewCount는 이전 값일 수 있다.
+ */
+public final class PostETag {
+
+    private PostETag() {
+    }
+
+    public static String of(Long postId, Long version) {
+        return "\"" + postId + "-" + version + "\"";
+    }
+
+    public static String of(List<PostSummary> posts) {
+        StringBuilder sb = new StringBuilder();
+        for (PostSummary post : posts) {
+            sb.append(post.getId()).append(':').append(post.getVersion()).append(',');
+        }
+        return "\"" + DigestUtils.md5DigestAsHex(sb.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * If-Match 헤더에서 기대하는 버전을 꺼낸다. 헤더가 없거나 * 이면 null.
+     */
+    public static Long parseVersion(Long postId, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+
+        String value = ifMatch.trim();
+        String prefix = "\"" + postId + "-";
+        if (!value.startsWith(prefix) || !value.endsWith("\"")) {
+            throw new InvalidRequestException("If-Match", "잘못된 ETag입니다.");
+        }
+        try {
+            return Long.parseLong(value.substring(prefix.length(), value.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new InvalidRequestException("If-Match", "잘못된 ETag입니다.");
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.calilog.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class PostMultiGetResponse {
+
+    private final List<PostResponse> posts;
+    private final List<Long> missingIds;
+
+    @Builder
+    public PostMultiGetResponse(List<PostResponse> posts, List<Long> missingIds) {
+        this.posts = posts;
+        this.missingIds = missingIds;
+    }
+}
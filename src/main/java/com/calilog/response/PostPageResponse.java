@@ -0,0 +1,23 @@
+package com.calilog.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class PostPageResponse {
+
+    private final List<PostSummary> posts;
+    private final int page;
+    private final int size;
+    private final long totalCount;
+
+    @Builder
+    public PostPageResponse(List<PostSummary> posts, int page, int size, long totalCount) {
+        this.posts = posts;
+        this.page = page;
+        this.size = size;
+        this.totalCount = totalCount;
+    }
+}
@@ -1,21 +1,35 @@
 package com.calilog.response;
 
 import com.calilog.domain.Post;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Builder;
 import lombok.Getter;
 
+import java.time.LocalDateTime;
+
 @Getter
 public class PostResponse {
 
     private final Long id;
     private final String title;
     private final String content;
+    // ETag 검증 대상이 아니다. (PostETag 참고)
+    private final long viewCount;
+
+    // ETag / Last-Modified 헤더로 내려가므로 본문에는 포함하지 않는다.
+    @JsonIgnore
+    private final Long version;
+    @JsonIgnore
+    private final LocalDateTime updatedAt;
 
     @Builder
-    public PostResponse(Long id, String title, String content) {
+    public PostResponse(Long id, String title, String content, long viewCount, Long version, LocalDateTime updatedAt) {
         this.id = id;
         this.title = title;
         this.content = content;
+        this.viewCount = viewCount;
+        this.version = version;
+        this.updatedAt = updatedAt;
     }
 
     public static PostResponse from(Post post) {
@@ -23,6 +37,13 @@ public class PostResponse {
                 .id(post.getId())
                 .title(post.getTitle())
                 .content(post.getContent())
+                .viewCount(post.getViewCount())
+                .version(post.getVersion())
+                .updatedAt(post.getUpdatedAt())
                 .build();
     }
+
+    public PostResponse withViewCount(long viewCount) {
+        return new PostResponse(id, title, content, viewCount, version, updatedAt);
+    }
 }
@@ -0,0 +1,21 @@
+package com.calilog.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class PostScrollResponse {
+
+    private final List<PostSummary> posts;
+    private final String nextCursor;
+    private final String prevCursor;
+
+    @Builder
+    public PostScrollResponse(List<PostSummary> posts, String nextCursor, String prevCursor) {
+        this.posts = posts;
+        this.nextCursor = nextCursor;
+        this.prevCursor = prevCursor;
+    }
+}
@@ -0,0 +1,30 @@
+package com.calilog.response;
+
+import com.calilog.domain.Post;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 목록 화면용 게시글 요약
+ * 본문(@Lob) 전체 대신 따로 저장해 둔 앞부분(excerpt)만 가져온다.
+ */
+@Getter
+public class PostSummary {
+
+    public static final int EXCERPT_LENGTH = Post.EXCERPT_LENGTH;
+
+    private final Long id;
+    private final String title;
+    private final String excerpt;
+    @JsonIgnore
+    private final Long version;
+
+    @Builder
+    public PostSummary(Long id, String title, String excerpt, Long version) {
+        this.id = id;
+        this.title = title;
+        this.excerpt = excerpt;
+        this.version = version;
+    }
+}
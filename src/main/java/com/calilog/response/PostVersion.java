@@ -0,0 +1,38 @@
+package com.calilog.response;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * 본문을 읽지 않고 조건부 요청(If-None-Match / If-Modified-Since)을 판단하기 위한 정보
+ */
+@Getter
+public class PostVersion {
+
+    private final Long id;
+    private final Long version;
+    private final LocalDateTime updatedAt;
+
+    public PostVersion(Long id, Long version, LocalDateTime updatedAt) {
+        this.id = id;
+        this.version = version;
+        this.updatedAt = updatedAt;
+    }
+
+    public static PostVersion from(PostResponse postResponse) {
+        return new PostVersion(postResponse.getId(), postResponse.getVersion(), postResponse.getUpdatedAt());
+    }
+
+    public String getETag() {
+        return PostETag.of(id, version);
+    }
+
+    public long getLastModified() {
+        if (updatedAt == null) {
+            return -1L;
+        }
+        return updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
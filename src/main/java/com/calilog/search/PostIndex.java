@@ -0,0 +1,151 @@
+package com.calilog.search;
+
+import com.calilog.domain.Post;
+import com.calilog.exception.InvalidRequestException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.ko.KoreanAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 게시글 제목/본문 역색인 (Lucene, 메모리 디렉터리)
+ * DB가 원본이고 색인은 언제든 {@link PostIndexUpdater#rebuild()}로 다시 만들 수 있다.
+ */
+@Slf4j
+@Component
+public class PostIndex {
+
+    // 페이지가 뒤로 갈수록 앞쪽 결과를 모두 모아야 하므로 offset + limit을 이만큼으로 제한한다.
+    public static final int MAX_RESULT_WINDOW = 10_000;
+
+    private static final String ID = "id";
+    private static final String TITLE = "title";
+    private static final String CONTENT = "content";
+    private static final Map<String, Float> BOOSTS = Map.of(TITLE, 2.0f, CONTENT, 1.0f);
+
+    private final Analyzer analyzer;
+    private final Directory directory;
+    private final IndexWriter indexWriter;
+    private final SearcherManager searcherManager;
+
+    public PostIndex() throws IOException {
+        this.analyzer = new KoreanAnalyzer();
+        this.directory = new ByteBuffersDirectory();
+        this.indexWriter = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+        this.searcherManager = new SearcherManager(indexWriter, null);
+    }
+
+    public void index(Collection<Post> posts) {
+        try {
+            for (Post post : posts) {
+                indexWriter.updateDocument(idTerm(post.getId()), toDocument(post));
+            }
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void delete(Collection<Long> postIds) {
+        try {
+            Term[] terms = postIds.stream()
+                    .map(this::idTerm)
+                    .toArray(Term[]::new);
+            indexWriter.deleteDocuments(terms);
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void clear() {
+        try {
+            indexWriter.deleteAll();
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 점수가 높은 순서로 게시글 id를 반환한다. offset + limit이 MAX_RESULT_WINDOW를 넘으면 InvalidRequestException
+     */
+    public List<Long> search(String keyword, long offset, int limit) {
+        if (offset < 0 || limit < 1 || offset + limit > MAX_RESULT_WINDOW) {
+            throw new InvalidRequestException("page", "검색 결과는 앞쪽 " + MAX_RESULT_WINDOW + "건까지만 볼 수 있습니다.");
+        }
+        Query query = parse(keyword);
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs topDocs = searcher.search(query, (int) (offset + limit));
+                ScoreDoc[] scoreDocs = topDocs.scoreDocs;
+
+                List<Long> postIds = new ArrayList<>();
+                for (int i = (int) offset; i < scoreDocs.length; i++) {
+                    Document document = searcher.doc(scoreDocs[i].doc);
+                    postIds.add(Long.valueOf(document.get(ID)));
+                }
+                return postIds;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        indexWriter.close();
+        directory.close();
+        analyzer.close();
+    }
+
+    private Query parse(String keyword) {
+        MultiFieldQueryParser parser = new MultiFieldQueryParser(new String[]{TITLE, CONTENT}, analyzer, BOOSTS);
+        try {
+            return parser.parse(QueryParser.escape(keyword));
+        } catch (ParseException e) {
+            throw new InvalidRequestException("keyword", "검색어를 확인해주세요.");
+        }
+    }
+
+    private Term idTerm(Long postId) {
+        return new Term(ID, String.valueOf(postId));
+    }
+
+    private Document toDocument(Post post) {
+        Document document = new Document();
+        document.add(new StringField(ID, String.valueOf(post.getId()), Field.Store.YES));
+        document.add(new TextField(TITLE, post.getTitle(), Field.Store.NO));
+        document.add(new TextField(CONTENT, post.getContent(), Field.Store.NO));
+        return document;
+    }
+}
@@ -0,0 +1,131 @@
+package com.calilog.search;
+
+import com.calilog.domain.Post;
+import com.calilog.event.PostChangedEvent;
+import com.calilog.repository.PostRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
+
+/**
+ * 게시글 변경 이벤트를 받아 검색 색인을 갱신한다.
+ * 요청 스레드를 붙잡지 않도록 색인 전용 스레드 하나에서 받은 순서대로 반영하므로, 검색 결과는 커밋보다 조금 늦게 바뀐다.
+ */
+@Slf4j
+@Component
+public class PostIndexUpdater {
+
+    private static final int REBUILD_CHUNK_SIZE = 500;
+
+    private final PostIndex postIndex;
+    private final PostRepository postRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate primaryTransaction;
+    private final ExecutorService indexExecutor = Executors.newSingleThreadExecutor(
+            runnable -> new Thread(runnable, "post-index"));
+
+    @Value("${calilog.search.rebuild-on-startup:true}")
+    private boolean rebuildOnStartup;
+
+    public PostIndexUpdater(PostIndex postIndex, PostRepository postRepository,
+                            PlatformTransactionManager transactionManager) {
+        this.postIndex = postIndex;
+        this.postRepository = postRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // AFTER_COMMIT 시점에는 끝난 트랜잭션이 아직 묶여 있을 수 있으므로 참여하지 않고 새로 연다.
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+        this.primaryTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void update(PostChangedEvent event) {
+        indexExecutor.execute(() -> {
+            try {
+                apply(event);
+            } catch (RuntimeException e) {
+                log.error("검색 색인을 갱신하지 못했습니다: {} {}", event.getType(), event.getPostIds(), e);
+            }
+        });
+    }
+
+    /**
+     * 지금까지 받은 변경이 색인에 반영될 때까지 기다린다.
+     */
+    public void awaitPending(Duration timeout) throws InterruptedException, TimeoutException {
+        try {
+            indexExecutor.submit(() -> {
+            }).get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        indexExecutor.shutdown();
+        if (!indexExecutor.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("반영하지 못한 검색 색인 변경이 남아 있습니다. 다음 기동 때 다시 만든 색인에 반영됩니다.");
+        }
+    }
+
+    private void apply(PostChangedEvent event) {
+        switch (event.getType()) {
+            // 방금 커밋된 글이라 replica에는 아직 없을 수 있으므로 쓰기 트랜잭션(primary)으로 읽는다.
+            case CREATED, EDITED -> postIndex.index(primaryTransaction.execute(
+                    status -> postRepository.findAllById(event.getPostIds())));
+            case DELETED -> postIndex.delete(event.getPostIds());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (!rebuildOnStartup) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        long indexed = rebuild();
+        log.info("검색 색인 재생성 완료: {}건, {}ms", indexed, System.currentTimeMillis() - started);
+    }
+
+    public long rebuild() {
+        postIndex.clear();
+
+        Long indexed = readOnlyTransaction.execute(status -> indexAll());
+        return indexed == null ? 0 : indexed;
+    }
+
+    private long indexAll() {
+        long indexed = 0;
+        List<Post> chunk = new ArrayList<>(REBUILD_CHUNK_SIZE);
+        try (Stream<Post> posts = postRepository.streamAll(null, REBUILD_CHUNK_SIZE)) {
+            for (Post post : (Iterable<Post>) posts::iterator) {
+                chunk.add(post);
+                if (chunk.size() == REBUILD_CHUNK_SIZE) {
+                    postIndex.index(chunk);
+                    indexed += chunk.size();
+                    chunk.clear();
+                }
+            }
+        }
+        postIndex.index(chunk);
+        return indexed + chunk.size();
+    }
+}
@@ -1,27 +1,85 @@
 package com.calilog.service;
 
-import com.calilog.domain.PostEditor;
+import com.calilog.cache.PostCache;
+import com.calilog.cache.PostCounter;
+import com.calilog.cache.PostLoadCoalescer;
+import com.calilog.cache.PostViewCounter;
+import com.calilog.datasource.RecentWrites;
+import com.calilog.event.PostChangedEvent;
+import com.calilog.exception.InvalidRequestException;
+import com.calilog.exception.PostConflictException;
 import com.calilog.exception.PostNotFoundException;
+import com.calilog.moderation.BannedWordFilter;
+import com.calilog.ranking.PopularPosts;
 import com.calilog.repository.PostRepository;
+import com.calilog.request.PostBulkCreate;
 import com.calilog.request.PostCreate;
 import com.calilog.request.PostEdit;
+import com.calilog.request.PostCursor;
 import com.calilog.request.PostSearch;
+import com.calilog.response.PostMultiGetResponse;
+import com.calilog.response.PostPageResponse;
 import com.calilog.response.PostResponse;
+import com.calilog.response.PostScrollResponse;
+import com.calilog.response.PostSummary;
+import com.calilog.response.PostVersion;
+import com.calilog.search.PostIndex;
+import com.calilog.writebehind.PostWriteBehind;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @RequiredArgsConstructor
 @Service
+@Timed(value = "calilog.post.service", percentiles = {0.5, 0.95, 0.99}, histogram = true)
 public class PostService {
 
+    private static final int MAX_BULK_DELETE = 10000;
+    private static final int DELETE_CHUNK_SIZE = 1000;
+    private static final int MAX_MULTI_GET = 1000;
+    private static final int MULTI_GET_CHUNK_SIZE = 500;
+
     private final PostRepository postRepository;
+    private final PostCache postCache;
+    private final PostLoadCoalescer postLoadCoalescer;
+    private final PostViewCounter postViewCounter;
+    private final RecentWrites recentWrites;
+    private final PostCounter postCounter;
+    private final PostIndex postIndex;
+    private final PopularPosts popularPosts;
+    private final BannedWordFilter bannedWordFilter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<PostWriteBehind> postWriteBehind;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:100}")
+    private int batchSize;
+
+    @Value("${calilog.export.fetch-size:500}")
+    private int exportFetchSize;
 
     public Long write(PostCreate postCreate) {
+        bannedWordFilter.validate(postCreate.getTitle(), postCreate.getContent());
 
         com.calilog.domain.Post post = com.calilog.domain.Post
                 .builder()
@@ -30,50 +88,301 @@ public class PostService {
                 .build();
 
         postRepository.save(post);
+        eventPublisher.publishEvent(PostChangedEvent.created(List.of(post.getId())));
 
         return post.getId();
     }
 
+    /**
+     * 검증만 하고 write-behind 큐에 넣는다. 저장은 백그라운드에서 배치로 하므로 돌려준 id는 잠시 뒤에 조회된다.
+     */
+    public Long writeBehind(PostCreate postCreate) {
+        bannedWordFilter.validate(postCreate.getTitle(), postCreate.getContent());
+
+        return postWriteBehind.getObject().enqueue(postCreate.getTitle(), postCreate.getContent());
+    }
+
+    @Transactional
+    public List<Long> writeAll(PostBulkCreate postBulkCreate) {
+        postBulkCreate.getPosts()
+                .forEach(postCreate -> bannedWordFilter.validate(postCreate.getTitle(), postCreate.getContent()));
+
+        List<com.calilog.domain.Post> posts = postBulkCreate.getPosts().stream()
+                .map(postCreate -> com.calilog.domain.Post.builder()
+                        .title(postCreate.getTitle())
+                        .content(postCreate.getContent())
+                        .build())
+                .toList();
+
+        List<Long> postIds = postRepository.saveAllInBatches(posts, batchSize);
+        eventPublisher.publishEvent(PostChangedEvent.created(postIds));
+
+        return postIds;
+    }
+
+    /**
+     * 캐시 적중 시에는 트랜잭션을 열지 않는다. 캐시에 없으면 findById가 읽기 전용 트랜잭션(replica)으로 읽는다.
+     * 단, 이 노드에서 방금 쓴 글은 복제 지연 동안 primary에서 읽는다. (RecentWrites)
+     * 같은 글의 캐시 미스가 동시에 몰리면 DB 조회는 한 번만 하고 결과를 나눠 쓴다.
+     */
     public PostResponse getPost(Long id) {
-        com.calilog.domain.Post post = postRepository.findById(id)
-                .orElseThrow(PostNotFoundException::new);
+        return postCache.get(id)
+                .orElseGet(() -> postLoadCoalescer.load(id, () -> {
+                    long stamp = postCache.stamp();
+                    com.calilog.domain.Post post = recentWrites.read(id, () -> postRepository.findById(id))
+                            .orElseThrow(PostNotFoundException::new);
+
+                    PostResponse postResponse = PostResponse.from(post);
+                    postCache.put(postResponse, stamp);
+                    return postResponse;
+                }));
+    }
+
+    /**
+     * getPost로 읽은 글의 조회수를 1 올린다. 조회수는 캐시된 값 대신 메모리에 모인 최신 값으로 내려준다.
+     */
+    public PostResponse viewPost(PostResponse postResponse) {
+        return postResponse.withViewCount(
+                postViewCounter.increment(postResponse.getId(), postResponse.getViewCount()));
+    }
+
+    /**
+     * 여러 글을 요청한 id 순서대로 반환한다. (중복 id는 한 번만)
+     * 캐시에 없는 글만 DB에서 IN 절로 나눠 읽고, 없는 글은 예외 대신 missingIds로 알려준다.
+     */
+    public PostMultiGetResponse getPosts(List<Long> ids) {
+        List<Long> distinctIds = ids.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (distinctIds.size() > MAX_MULTI_GET) {
+            throw new InvalidRequestException("ids", "한 번에 조회할 수 있는 글은 최대 " + MAX_MULTI_GET + "건입니다.");
+        }
+
+        Map<Long, PostResponse> found = new HashMap<>();
+        List<Long> uncachedIds = new ArrayList<>();
+        for (Long id : distinctIds) {
+            postCache.get(id).ifPresentOrElse(
+                    postResponse -> found.put(id, postResponse),
+                    () -> uncachedIds.add(id));
+        }
+
+        if (!uncachedIds.isEmpty()) {
+            long stamp = postCache.stamp();
+            for (com.calilog.domain.Post post : postRepository.findAllByIds(uncachedIds, MULTI_GET_CHUNK_SIZE)) {
+                PostResponse postResponse = PostResponse.from(post);
+                postCache.put(postResponse, stamp);
+                found.put(post.getId(), postResponse);
+            }
+        }
+
+        return PostMultiGetResponse.builder()
+                .posts(distinctIds.stream()
+                        .map(found::get)
+                        .filter(Objects::nonNull)
+                        .map(postResponse -> postResponse.withViewCount(
+                                postViewCounter.get(postResponse.getId(), postResponse.getViewCount())))
+                        .toList())
+                .missingIds(distinctIds.stream()
+                        .filter(id -> !found.containsKey(id))
+                        .toList())
+                .build();
+    }
+
+    /**
+     * 캐시에 있으면 캐시에서, 없으면 본문을 제외한 버전 정보만 DB에서 읽는다.
+     */
+    public PostVersion getPostVersion(Long id) {
+        return postCache.get(id)
+                .map(PostVersion::from)
+                .orElseGet(() -> recentWrites.read(id, () -> postRepository.getVersion(id))
+                        .orElseThrow(PostNotFoundException::new));
+    }
+
+    @Transactional(readOnly = true)
+    public List<PostSummary> getPostList(PostSearch postSearch) {
+        return postRepository.getList(postSearch);
+    }
 
-        return PostResponse.builder()
-                .id(post.getId())
-                .title(post.getTitle())
-                .content(post.getContent())
+    @Transactional(readOnly = true)
+    public PostPageResponse getPostPage(PostSearch postSearch) {
+        return PostPageResponse.builder()
+                .posts(postRepository.getList(postSearch))
+                .page(Math.max(1, postSearch.getPage()))
+                .size(postSearch.getLimit())
+                .totalCount(postCounter.get())
                 .build();
     }
 
-    public List<PostResponse> getPostList(PostSearch postSearch) {
-        return postRepository.getList(postSearch).stream()
-                .map(PostResponse::from)
+    @Transactional(readOnly = true)
+    public PostScrollResponse getPostScroll(PostSearch postSearch) {
+        List<PostSummary> posts = postRepository.getListByCursor(postSearch);
+        boolean hasMore = posts.size() > postSearch.getLimit();
+
+        List<PostSummary> summaries = new ArrayList<>(posts.subList(0, Math.min(posts.size(), postSearch.getLimit())));
+
+        // before 조회는 오름차순으로 가져오므로 화면 순서(최신순)로 뒤집는다.
+        boolean backward = postSearch.getBefore() != null;
+        if (backward) {
+            Collections.reverse(summaries);
+        }
+
+        if (summaries.isEmpty()) {
+            return PostScrollResponse.builder()
+                    .posts(summaries)
+                    .build();
+        }
+
+        Long newestId = summaries.get(0).getId();
+        Long oldestId = summaries.get(summaries.size() - 1).getId();
+        boolean hasNewer = backward ? hasMore : postSearch.getAfter() != null;
+        boolean hasOlder = backward || hasMore;
+
+        return PostScrollResponse.builder()
+                .posts(summaries)
+                .nextCursor(hasOlder ? PostCursor.encode(oldestId) : null)
+                .prevCursor(hasNewer ? PostCursor.encode(newestId) : null)
+                .build();
+    }
+
+    /**
+     * 인기 글 순서대로 최대 size개를 반환한다. 순위는 메모리(PopularPosts)에서 정하고 DB에서는 요약만 id로 읽는다.
+     */
+    @Transactional(readOnly = true)
+    public List<PostSummary> getPopularPosts(int size) {
+        List<Long> rankedIds = popularPosts.top(size);
+        if (rankedIds.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, PostSummary> summaries = postRepository.getSummariesByIds(rankedIds).stream()
+                .collect(Collectors.toMap(PostSummary::getId, Function.identity()));
+
+        return rankedIds.stream()
+                .map(summaries::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * 검색 점수 순으로 정렬된 목록을 반환한다. 페이징은 GET /posts와 같다.
+     */
+    @Transactional(readOnly = true)
+    public List<PostSummary> searchPosts(PostSearch postSearch) {
+        String keyword = postSearch.getKeyword();
+        if (keyword == null || keyword.isBlank()) {
+            throw new InvalidRequestException("keyword", "검색어를 입력해주세요.");
+        }
+
+        List<Long> rankedIds = postIndex.search(keyword, postSearch.getOffset(), postSearch.getLimit());
+        Map<Long, PostSummary> summaries = postRepository.getSummariesByIds(rankedIds).stream()
+                .collect(Collectors.toMap(PostSummary::getId, Function.identity()));
+
+        return rankedIds.stream()
+                .map(summaries::get)
+                .filter(Objects::nonNull)
                 .toList();
     }
 
+    /**
+     * 전체 글을 한 줄에 하나씩 JSON(NDJSON)으로 내보낸다.
+     */
+    @Transactional(readOnly = true)
+    public void export(Long sinceId, OutputStream outputStream) throws IOException {
+        try (Stream<com.calilog.domain.Post> posts = postRepository.streamAll(sinceId, exportFetchSize)) {
+            posts.forEach(post -> {
+                try {
+                    outputStream.write(objectMapper.writeValueAsBytes(PostResponse.from(post)));
+                    outputStream.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        outputStream.flush();
+    }
+
+    /**
+     * 본문만 outputStream으로 흘려보낸다. 글 길이와 상관없이 요청당 메모리는 복사 버퍼 크기로 고정된다.
+     */
+    public void writeContent(Long id, OutputStream outputStream) throws IOException {
+        boolean found;
+        try {
+            found = recentWrites.read(id, () -> {
+                try {
+                    return postRepository.copyContent(id, outputStream);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        if (!found) {
+            throw new PostNotFoundException();
+        }
+        outputStream.flush();
+    }
+
     @Transactional
     public void edit(Long id, PostEdit postEdit) {
-        com.calilog.domain.Post post = postRepository.findById(id)
-                .orElseThrow(PostNotFoundException::new);
+        edit(id, postEdit, null);
+    }
+
+    /**
+     * 글을 읽지 않고 바뀐 컬럼만 한 번의 UPDATE로 반영한다.
+     * expectedVersion이 있으면 그 사이 다른 수정이 있었는지 확인하고, 있었다면 409를 던진다.
+     */
+    @Transactional
+    public void edit(Long id, PostEdit postEdit, Long expectedVersion) {
+        bannedWordFilter.validate(postEdit.getTitle(), postEdit.getContent());
 
-        PostEditor.PostEditorBuilder editorBuilder = post.toEditor();
+        if (postEdit.getTitle() == null && postEdit.getContent() == null) {
+            if (!postRepository.existsById(id)) {
+                throw new PostNotFoundException();
+            }
+            return;
+        }
 
-        // 이 방법은 타이블이나 컨텐트가 null로 넘어오면 데이터도 null로 저장되니 앞단에서 무조건 데이터를 받는 식으로 짜야한다.
-        PostEditor postEditor = editorBuilder.title(postEdit.getTitle())
-                .content(postEdit.getContent())
-                .build();
+        long updated = postRepository.update(id, expectedVersion, postEdit.getTitle(), postEdit.getContent());
+        if (updated == 0) {
+            if (expectedVersion != null && postRepository.existsById(id)) {
+                throw new PostConflictException();
+            }
+            throw new PostNotFoundException();
+        }
 
-        post.edit(postEditor);
+        eventPublisher.publishEvent(PostChangedEvent.edited(id));
     }
 
+    @Transactional
     public void delete(Long id) {
-        com.calilog.domain.Post post = postRepository.findById(id)
-                .orElseThrow(PostNotFoundException::new);
+        if (postRepository.removeById(id) == 0) {
+            throw new PostNotFoundException();
+        }
+
+        eventPublisher.publishEvent(PostChangedEvent.deleted(List.of(id)));
+    }
+
+    /**
+     * 존재하지 않는 id는 무시하고, 실제로 삭제된 글 수를 반환한다.
+     */
+    @Transactional
+    public long deleteAll(List<Long> ids) {
+        if (ids.size() > MAX_BULK_DELETE) {
+            throw new InvalidRequestException("ids", "한 번에 삭제할 수 있는 글은 최대 " + MAX_BULK_DELETE + "건입니다.");
+        }
 
-        postRepository.deleteById(id);
+        List<Long> removedIds = postRepository.removeAllById(ids, DELETE_CHUNK_SIZE);
+        if (!removedIds.isEmpty()) {
+            eventPublisher.publishEvent(PostChangedEvent.deleted(removedIds));
+        }
+        return removedIds.size();
     }
 
     public Long getPostsCount() {
-        return postRepository.count();
+        return postCounter.get();
     }
 }
@@ -0,0 +1,86 @@
+package com.calilog.service;
+
+import com.calilog.event.PostChangedEvent;
+import com.calilog.exception.PostConflictException;
+import com.calilog.exception.PostNotFoundException;
+import com.calilog.moderation.BannedWordFilter;
+import com.calilog.repository.ReactivePostRepository;
+import com.calilog.request.PostCreate;
+import com.calilog.request.PostEdit;
+import com.calilog.request.PostSearch;
+import com.calilog.response.PostResponse;
+import com.calilog.response.PostSummary;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+
+/**
+ * PostService의 WebFlux 버전
+ * 글 변경 이벤트 리스너(검색 색인 등)는 블로킹이므로 이벤트는 이벤트 루프 밖에서 발행한다.
+ */
+@RequiredArgsConstructor
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactivePostService {
+
+    private final ReactivePostRepository postRepository;
+    private final BannedWordFilter bannedWordFilter;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public Mono<Long> write(PostCreate postCreate) {
+        return Mono.fromRunnable(() -> bannedWordFilter.validate(postCreate.getTitle(), postCreate.getContent()))
+                .then(postRepository.insert(postCreate.getTitle(), postCreate.getContent()))
+                .flatMap(postId -> publish(PostChangedEvent.created(List.of(postId))).thenReturn(postId));
+    }
+
+    public Mono<PostResponse> getPost(Long id) {
+        return postRepository.findById(id)
+                .switchIfEmpty(Mono.error(PostNotFoundException::new));
+    }
+
+    public Flux<PostSummary> getPostList(PostSearch postSearch) {
+        return postRepository.getList(postSearch);
+    }
+
+    /**
+     * expectedVersion이 있으면 그 사이 다른 수정이 있었는지 확인하고, 있었다면 409를 던진다.
+     */
+    public Mono<Void> edit(Long id, PostEdit postEdit, Long expectedVersion) {
+        Mono<Void> validate = Mono.fromRunnable(() -> bannedWordFilter.validate(postEdit.getTitle(), postEdit.getContent()));
+
+        if (postEdit.getTitle() == null && postEdit.getContent() == null) {
+            return validate.then(postRepository.existsById(id))
+                    .flatMap(exists -> exists ? Mono.<Void>empty() : Mono.error(new PostNotFoundException()));
+        }
+
+        return validate.then(postRepository.update(id, expectedVersion, postEdit.getTitle(), postEdit.getContent()))
+                .flatMap(updated -> {
+                    if (updated > 0) {
+                        return publish(PostChangedEvent.edited(id));
+                    }
+                    if (expectedVersion == null) {
+                        return Mono.error(new PostNotFoundException());
+                    }
+                    return postRepository.existsById(id)
+                            .flatMap(exists -> Mono.error(exists ? new PostConflictException() : new PostNotFoundException()));
+                });
+    }
+
+    public Mono<Void> delete(Long id) {
+        return postRepository.removeById(id)
+                .flatMap(removed -> removed == 0
+                        ? Mono.error(new PostNotFoundException())
+                        : publish(PostChangedEvent.deleted(List.of(id))));
+    }
+
+    private Mono<Void> publish(PostChangedEvent event) {
+        return Mono.<Void>fromRunnable(() -> eventPublisher.publishEvent(event))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+}
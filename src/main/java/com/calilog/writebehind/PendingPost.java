@@ -0,0 +1,9 @@
+package com.calilog.writebehind;
+
+import java.time.LocalDateTime;
+
+/**
+ * 큐에 들어가 아직 DB에 저장되지 않은 글. 저널에는 이 형태 그대로 한 줄씩 남는다.
+ */
+public record PendingPost(Long id, String title, String content, LocalDateTime createdAt) {
+}
@@ -0,0 +1,146 @@
+package com.calilog.writebehind;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * 큐에 넣은 글을 DB에 저장될 때까지 파일에 남겨 둔다. (한 줄에 글 하나, JSON)
+ * 세그먼트 파일 단위로 덧붙여 쓰고, 안의 글이 모두 저장된 세그먼트는 지운다.
+ * 프로세스가 죽어도 남은 세그먼트를 다음 기동 때 다시 읽어 저장한다.
+ */
+@Slf4j
+class PostJournal implements Closeable {
+
+    private static final String PREFIX = "posts-";
+    private static final String SUFFIX = ".journal";
+
+    private final Path directory;
+    private final ObjectMapper objectMapper;
+    private final boolean sync;
+
+    private long segment;
+    private FileOutputStream out;
+
+    PostJournal(Path directory, ObjectMapper objectMapper, boolean sync) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.objectMapper = objectMapper;
+        this.sync = sync;
+
+        List<Long> segments = segments();
+        this.segment = segments.isEmpty() ? 1 : segments.get(segments.size() - 1) + 1;
+        this.out = open(segment);
+    }
+
+    /**
+     * 이전 실행에서 남은 세그먼트의 글을 쓴 순서대로 읽는다. 쓰다 만 마지막 줄은 버린다.
+     */
+    List<PendingPost> recover() throws IOException {
+        List<PendingPost> posts = new ArrayList<>();
+        for (long previous : segments()) {
+            if (previous >= segment) {
+                break;
+            }
+            try (BufferedReader reader = Files.newBufferedReader(path(previous), UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    try {
+                        posts.add(objectMapper.readValue(line, PendingPost.class));
+                    } catch (JsonProcessingException e) {
+                        log.warn("저널의 손상된 줄을 건너뜁니다: segment={}", previous, e);
+                    }
+                }
+            }
+        }
+        return posts;
+    }
+
+    /**
+     * 글을 현재 세그먼트 끝에 쓰고 세그먼트 번호를 돌려준다.
+     * sync가 꺼져 있으면 OS 버퍼까지만 쓴다. (프로세스 장애에는 안전하고, 전원 장애에는 최근 기록을 잃을 수 있다)
+     */
+    long append(PendingPost post) throws IOException {
+        byte[] line = objectMapper.writeValueAsBytes(post);
+        out.write(line);
+        out.write('\n');
+        if (sync) {
+            out.getFD().sync();
+        }
+        return segment;
+    }
+
+    long size() throws IOException {
+        return out.getChannel().size();
+    }
+
+    /**
+     * 새 세그먼트로 넘어간다. 이후 append는 새 세그먼트에 쓴다.
+     */
+    void roll() throws IOException {
+        out.close();
+        segment++;
+        out = open(segment);
+    }
+
+    /**
+     * oldestLiveSegment보다 앞선 세그먼트를 지운다.
+     */
+    void deleteBefore(long oldestLiveSegment) throws IOException {
+        for (long previous : segments()) {
+            if (previous >= oldestLiveSegment) {
+                break;
+            }
+            Files.deleteIfExists(path(previous));
+        }
+    }
+
+    /**
+     * 쓴 글이 모두 저장되었을 때 호출한다. 현재 세그먼트를 비우고 이전 세그먼트를 지운다.
+     */
+    void clear() throws IOException {
+        out.getChannel().truncate(0);
+        deleteBefore(segment);
+    }
+
+    long currentSegment() {
+        return segment;
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private FileOutputStream open(long segment) throws IOException {
+        return new FileOutputStream(path(segment).toFile(), true);
+    }
+
+    private Path path(long segment) {
+        return directory.resolve(String.format("%s%020d%s", PREFIX, segment, SUFFIX));
+    }
+
+    private List<Long> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith(PREFIX) && name.endsWith(SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,333 @@
+package com.calilog.writebehind;
+
+import com.calilog.domain.Post;
+import com.calilog.domain.PostContentConverter;
+import com.calilog.event.PostChangedEvent;
+import com.calilog.exception.PostQueueFullException;
+import com.calilog.repository.PostIdBlock;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 글 작성을 큐에 넣고 id만 먼저 돌려준 뒤, 백그라운드 writer가 모아서 배치 INSERT 한다. (write-behind)
+ * 큐에 넣기 전에 저널 파일에 남기므로 저장 전에 프로세스가 죽어도 다음 기동 때 다시 저장한다.
+ * 큐가 가득 차면 PostQueueFullException(429)으로 거절한다.
+ * 저장되기 전까지는 GET /posts/{postId}가 404를 줄 수 있다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "calilog.write-behind.enabled", havingValue = "true")
+public class PostWriteBehind implements SmartLifecycle {
+
+    private static final String INSERT_SQL = "insert into post (id, title, content, excerpt, version, updated_at)"
+            + " values (?, ?, ?, ?, 0, ?)";
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+    private static final long RETRY_BACKOFF_MILLIS = 1000;
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 30_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PostJournal journal;
+    private final BlockingQueue<Entry> queue;
+    private final PostIdBlock postIdBlock = new PostIdBlock(Post.ID_ALLOCATION_SIZE);
+    private final int batchSize;
+    private final long maxSegmentBytes;
+
+    private final Timer flushTimer;
+    private final Counter rejectedCounter;
+
+    // 저널에 쓰는 순서와 큐에 넣는 순서를 같게 유지한다. (checkpoint가 큐의 맨 앞으로 지울 세그먼트를 정한다)
+    private final Object appendLock = new Object();
+    private boolean closed;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public PostWriteBehind(JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           ApplicationEventPublisher eventPublisher,
+                           ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry,
+                           @Value("${calilog.write-behind.queue-capacity:10000}") int queueCapacity,
+                           @Value("${calilog.write-behind.batch-size:500}") int batchSize,
+                           @Value("${calilog.write-behind.journal.dir:${java.io.tmpdir}/calilog-journal}") Path journalDir,
+                           @Value("${calilog.write-behind.journal.sync:false}") boolean journalSync,
+                           @Value("${calilog.write-behind.journal.max-segment-bytes:16777216}") long maxSegmentBytes) throws IOException {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.journal = new PostJournal(journalDir, objectMapper, journalSync);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.maxSegmentBytes = maxSegmentBytes;
+
+        Gauge.builder("calilog.write-behind.queue.depth", queue, Collection::size)
+                .description("저장을 기다리는 글 수")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("calilog.write-behind.flush")
+                .description("배치 INSERT 한 번에 걸린 시간")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("calilog.write-behind.rejected")
+                .description("큐가 가득 차서 거절한 글 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * id를 할당하고 저널에 남긴 뒤 큐에 넣는다. 큐가 가득 차면 저널에 남기지 않고 거절한다.
+     */
+    public Long enqueue(String title, String content) {
+        PendingPost post = new PendingPost(nextId(), title, content, LocalDateTime.now());
+
+        synchronized (appendLock) {
+            if (closed) {
+                throw new IllegalStateException("write-behind 큐가 닫혔습니다.");
+            }
+            if (queue.remainingCapacity() == 0) {
+                rejectedCounter.increment();
+                throw new PostQueueFullException();
+            }
+            try {
+                long segment = journal.append(post);
+                queue.add(new Entry(post, segment));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return post.id();
+    }
+
+    /**
+     * 이전 실행의 저널에 남은 글을 먼저 저장하고 writer를 띄운다.
+     * 웹 서버보다 먼저 시작하고 나중에 멈추도록 phase를 낮춘다.
+     */
+    @Override
+    public void start() {
+        try {
+            List<PendingPost> recovered = journal.recover();
+            for (int from = 0; from < recovered.size(); from += batchSize) {
+                List<PendingPost> chunk = recovered.subList(from, Math.min(from + batchSize, recovered.size()));
+                publishCreated(insert(chunk, true));
+            }
+            journal.deleteBefore(journal.currentSegment());
+            if (!recovered.isEmpty()) {
+                log.info("저널에서 글 {}건을 복구했습니다.", recovered.size());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        running = true;
+        writer = new Thread(this::drain, "post-write-behind");
+        writer.start();
+    }
+
+    /**
+     * 큐에 남은 글을 모두 저장하고 멈춘다. 저장하지 못한 글은 저널에 남아 다음 기동 때 저장된다.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        if (writer != null) {
+            try {
+                writer.join(SHUTDOWN_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        synchronized (appendLock) {
+            closed = true;
+            try {
+                journal.close();
+            } catch (IOException e) {
+                log.warn("저널을 닫지 못했습니다.", e);
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 2048;
+    }
+
+    private void drain() {
+        List<Entry> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Entry first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+
+                if (!flush(batch)) {
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // 같은 배치를 다시 쓰면 이미 저장된 글을 또 넣게 되므로 버린다. (저장되지 않은 글은 다음 기동 때 저널에서 복구한다)
+                log.error("write-behind 처리 중 오류. 글 {}건의 배치를 버립니다.", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * 배치를 저장한다. DB 장애면 잠시 쉬고 같은 배치를 다시 저장하고, 멈추는 중이면 false를 돌려준다.
+     */
+    private boolean flush(List<Entry> batch) throws InterruptedException {
+        List<PendingPost> posts = batch.stream()
+                .map(Entry::post)
+                .toList();
+
+        boolean retry = false;
+        while (true) {
+            // 이전 시도가 커밋되었는지 알 수 없으므로 재시도에서는 이미 저장된 id를 뺀다.
+            boolean skipExisting = retry;
+            try {
+                List<Long> postIds = flushTimer.recordCallable(() -> insert(posts, skipExisting));
+                publishCreated(postIds);
+                break;
+            } catch (DataIntegrityViolationException e) {
+                publishCreated(insertEach(posts));
+                break;
+            } catch (DataAccessException e) {
+                log.warn("글 {}건을 저장하지 못했습니다. 다시 시도합니다.", posts.size(), e);
+                if (!running) {
+                    return false;
+                }
+                retry = true;
+                Thread.sleep(RETRY_BACKOFF_MILLIS);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        checkpoint();
+        return true;
+    }
+
+    // 배치 중 저장할 수 없는 글(제약 조건 위반)만 버리고 나머지는 저장한다. 동기 저장이었어도 실패했을 글이다.
+    private List<Long> insertEach(List<PendingPost> posts) {
+        List<Long> postIds = new ArrayList<>(posts.size());
+        for (PendingPost post : posts) {
+            try {
+                postIds.addAll(insert(List.of(post), true));
+            } catch (DataIntegrityViolationException e) {
+                log.error("저장할 수 없는 글을 버립니다: id={}", post.id(), e);
+            }
+        }
+        return postIds;
+    }
+
+    private List<Long> insert(List<PendingPost> posts, boolean skipExisting) {
+        return transactionTemplate.execute(status -> {
+            List<PendingPost> targets = skipExisting ? withoutExisting(posts) : posts;
+            jdbcTemplate.batchUpdate(INSERT_SQL, targets, targets.size(), (ps, post) -> {
+                ps.setLong(1, post.id());
+                ps.setString(2, post.title());
+                ps.setBytes(3, PostContentConverter.encode(post.content()));
+                ps.setString(4, Post.excerptOf(post.content()));
+                ps.setObject(5, post.createdAt());
+            });
+            return targets.stream()
+                    .map(PendingPost::id)
+                    .toList();
+        });
+    }
+
+    private List<PendingPost> withoutExisting(List<PendingPost> posts) {
+        String placeholders = String.join(", ", Collections.nCopies(posts.size(), "?"));
+        Set<Long> existingIds = new HashSet<>(jdbcTemplate.queryForList(
+                "select id from post where id in (" + placeholders + ")",
+                Long.class,
+                posts.stream().map(PendingPost::id).toArray()));
+        return posts.stream()
+                .filter(post -> !existingIds.contains(post.id()))
+                .toList();
+    }
+
+    // 글은 이미 커밋되었으므로 리스너가 실패해도 저장 결과와 저널 정리(checkpoint)에는 영향을 주지 않는다.
+    private void publishCreated(List<Long> postIds) {
+        if (postIds.isEmpty()) {
+            return;
+        }
+        try {
+            eventPublisher.publishEvent(PostChangedEvent.created(postIds));
+        } catch (RuntimeException e) {
+            log.error("저장한 글 {}건의 생성 이벤트 처리 중 오류", postIds.size(), e);
+        }
+    }
+
+    // 저장이 끝난 글만 담긴 세그먼트를 지운다. 큐가 비었으면 저널 전체가 저장된 상태다.
+    private void checkpoint() {
+        synchronized (appendLock) {
+            if (closed) {
+                return;
+            }
+            try {
+                Entry oldest = queue.peek();
+                if (oldest == null) {
+                    journal.clear();
+                    return;
+                }
+                journal.deleteBefore(oldest.segment());
+                if (journal.size() >= maxSegmentBytes) {
+                    journal.roll();
+                }
+            } catch (IOException e) {
+                log.warn("저널을 정리하지 못했습니다. 다음 기동 때 이미 저장된 글은 건너뜁니다.", e);
+            }
+        }
+    }
+
+    private Long nextId() {
+        Long postId = postIdBlock.poll();
+        if (postId != null) {
+            return postId;
+        }
+        return postIdBlock.refill(jdbcTemplate.queryForObject("select next value for post_seq", Long.class));
+    }
+
+    private record Entry(PendingPost post, long segment) {
+    }
+}
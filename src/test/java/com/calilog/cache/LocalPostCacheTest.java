@@ -0,0 +1,83 @@
+package com.calilog.cache;
+
+import com.calilog.response.PostResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Cache - 로컬 게시글 캐시")
+class LocalPostCacheTest {
+
+    @Test
+    @DisplayName("읽기 시작한 뒤에 무효화된 글은 캐시에 올리지 않는다")
+    public void givenEvictedAfterStamp_whenPut_thenIgnored() {
+        // given
+        LocalPostCache postCache = new LocalPostCache(100, Duration.ofMinutes(10));
+        long stamp = postCache.stamp();
+        postCache.evict(1L);
+
+        // when
+        postCache.put(post(1L, 0L), stamp);
+
+        // then
+        assertThat(postCache.get(1L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("무효화 이후에 읽기 시작한 글은 캐시에 올린다")
+    public void givenStampAfterEvict_whenPut_thenCached() {
+        // given
+        LocalPostCache postCache = new LocalPostCache(100, Duration.ofMinutes(10));
+        postCache.evict(1L);
+        long stamp = postCache.stamp();
+
+        // when
+        postCache.put(post(1L, 1L), stamp);
+
+        // then
+        assertThat(postCache.get(1L)).hasValueSatisfying(cached -> assertThat(cached.getVersion()).isEqualTo(1L));
+    }
+
+    @Test
+    @DisplayName("tombstone이 밀려나도 그 이전에 읽기 시작한 글은 캐시에 올리지 않는다")
+    public void givenTombstoneDropped_whenPutWithOldStamp_thenIgnored() {
+        // given
+        LocalPostCache postCache = new LocalPostCache(1, Duration.ofMinutes(10));
+        long stamp = postCache.stamp();
+        postCache.evict(1L);
+        postCache.evict(2L);
+
+        // when
+        postCache.put(post(1L, 0L), stamp);
+
+        // then
+        assertThat(postCache.get(1L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("캐시에 더 새 버전이 있으면 이전 버전으로 덮어쓰지 않는다")
+    public void givenNewerCached_whenPutOlder_thenKeepNewer() {
+        // given
+        LocalPostCache postCache = new LocalPostCache(100, Duration.ofMinutes(10));
+        long stamp = postCache.stamp();
+        postCache.put(post(1L, 2L), stamp);
+
+        // when
+        postCache.put(post(1L, 1L), stamp);
+
+        // then
+        assertThat(postCache.get(1L)).hasValueSatisfying(cached -> assertThat(cached.getVersion()).isEqualTo(2L));
+    }
+
+    private static PostResponse post(Long id, Long version) {
+        return PostResponse.builder()
+                .id(id)
+                .title("제목")
+                .content("내용")
+                .version(version)
+                .build();
+    }
+}
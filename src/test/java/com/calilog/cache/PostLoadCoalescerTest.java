@@ -0,0 +1,147 @@
+package com.calilog.cache;
+
+import com.calilog.exception.PostNotFoundException;
+import com.calilog.response.PostResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Cache - 같은 글 동시 조회 합치기")
+class PostLoadCoalescerTest {
+
+    private static final int CONCURRENCY = 8;
+
+    private MeterRegistry meterRegistry;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void beforeTest() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = Executors.newFixedThreadPool(CONCURRENCY);
+    }
+
+    @AfterEach
+    void afterTest() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("동시에 들어온 조회는 DB 조회 한 번의 결과를 나눠 쓴다")
+    public void givenConcurrentLoads_whenLoad_thenLoadOnce() throws Exception {
+        // given
+        PostLoadCoalescer coalescer = new PostLoadCoalescer(meterRegistry, 100);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<PostResponse> loader = () -> {
+            loads.incrementAndGet();
+            await(release);
+            return PostResponse.builder().id(1L).title("제목").build();
+        };
+
+        // when
+        List<Future<PostResponse>> results = submitAll(() -> coalescer.load(1L, loader));
+        awaitCount("coalesced", CONCURRENCY - 1);
+        release.countDown();
+
+        // then
+        PostResponse first = results.get(0).get(5, TimeUnit.SECONDS);
+        for (Future<PostResponse> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isSameAs(first);
+        }
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(count("loaded")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("DB 조회가 실패하면 기다리던 요청도 같은 예외를 받는다")
+    public void givenFailedLoad_whenLoad_thenAllWaitersFail() throws Exception {
+        // given
+        PostLoadCoalescer coalescer = new PostLoadCoalescer(meterRegistry, 100);
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<PostResponse> loader = () -> {
+            await(release);
+            throw new PostNotFoundException();
+        };
+
+        // when
+        List<Future<PostResponse>> results = submitAll(() -> coalescer.load(1L, loader));
+        awaitCount("coalesced", CONCURRENCY - 1);
+        release.countDown();
+
+        // then
+        for (Future<PostResponse> result : results) {
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(PostNotFoundException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("기다리는 요청이 max-waiters를 넘으면 넘친 요청은 직접 읽는다")
+    public void givenTooManyWaiters_whenLoad_thenLoadDirectly() throws Exception {
+        // given
+        PostLoadCoalescer coalescer = new PostLoadCoalescer(meterRegistry, 1);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<PostResponse> loader = () -> {
+            if (loads.incrementAndGet() == 1) {
+                await(release);
+            }
+            return PostResponse.builder().id(1L).build();
+        };
+
+        // when
+        List<Future<PostResponse>> results = submitAll(() -> coalescer.load(1L, loader));
+        awaitCount("overflow", CONCURRENCY - 2);
+        release.countDown();
+        for (Future<PostResponse> result : results) {
+            result.get(5, TimeUnit.SECONDS);
+        }
+
+        // then
+        assertThat(count("coalesced")).isEqualTo(1.0);
+        assertThat(loads.get()).isEqualTo(CONCURRENCY - 1);
+    }
+
+    private List<Future<PostResponse>> submitAll(Supplier<PostResponse> task) {
+        List<Future<PostResponse>> results = new ArrayList<>();
+        for (int i = 0; i < CONCURRENCY; i++) {
+            results.add(executor.submit(task::get));
+        }
+        return results;
+    }
+
+    private void awaitCount(String result, int expected) throws InterruptedException {
+        for (int i = 0; i < 100 && count(result) < expected; i++) {
+            Thread.sleep(50);
+        }
+        assertThat(count(result)).isEqualTo(expected);
+    }
+
+    private double count(String result) {
+        return meterRegistry.counter("calilog.post.load", "result", result).count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -59,7 +59,8 @@ public class PostControllerDocTest {
                         responseFields(
                                 fieldWithPath("id").description("게시글 ID"),
                                 fieldWithPath("title").description("게시글 제목"),
-                                fieldWithPath("content").description("게시글 본문")
+                                fieldWithPath("content").description("게시글 본문"),
+                                fieldWithPath("viewCount").description("조회수 (ETag/Last-Modified 검증 대상 아님)")
                         )
                 ));
     }
@@ -1,18 +1,30 @@
 package com.calilog.controller;
 
+import com.calilog.cache.FrontPageCache;
+import com.calilog.cache.PostCache;
+import com.calilog.cache.PostViewCounter;
+import com.calilog.metrics.HibernateRequestCounter;
+import com.calilog.ranking.PopularPosts;
 import com.calilog.repository.PostRepository;
+import com.calilog.request.PostBulkCreate;
 import com.calilog.request.PostCreate;
 import com.calilog.request.PostEdit;
 import com.calilog.request.PostSearch;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -22,6 +34,9 @@ import static org.hamcrest.Matchers.is;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -36,12 +51,33 @@ class PostControllerTest {
     @Autowired
     private PostRepository postRepository;
 
+    @Autowired
+    private PostCache postCache;
+
+    @Autowired
+    private FrontPageCache frontPageCache;
+
+    @Autowired
+    private PostViewCounter postViewCounter;
+
+    @Autowired
+    private PopularPosts popularPosts;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @BeforeEach
     void clean() {
         postRepository.deleteAll();
+        postCache.clear();
+        frontPageCache.clear();
+        popularPosts.clear();
     }
 
     @Test
@@ -109,6 +145,53 @@ class PostControllerTest {
         assertThat(post.getContent()).isEqualTo("내용");
     }
 
+    @Test
+    @DisplayName("[POST] /posts/bulk 요청시 여러 건이 저장되고 id 목록을 반환한다.")
+    public void whenBulkPosts_thenInsertAllAndReturnIds() throws Exception {
+        // given
+        List<PostCreate> posts = IntStream.range(0, 120)
+                .mapToObj(i -> PostCreate.builder()
+                        .title("title" + i)
+                        .content("content" + i)
+                        .build())
+                .collect(Collectors.toList());
+        String json = objectMapper.writeValueAsString(new PostBulkCreate(posts));
+
+        // when
+        mockMvc.perform(post("/posts/bulk")
+                        .contentType(APPLICATION_JSON)
+                        .content(json)
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.postIds.length()", is(120)))
+                .andDo(print());
+
+        // then
+        assertThat(postRepository.count()).isEqualTo(120L);
+    }
+
+    @Test
+    @DisplayName("[POST] /posts/bulk 요청시 단 건 등록과 같은 검증을 한다.")
+    public void whenBulkPostsWithoutTitle_thenThrowException() throws Exception {
+        // given
+        List<PostCreate> posts = List.of(
+                PostCreate.builder().title("제목").content("내용").build(),
+                PostCreate.builder().title("").content("내용").build()
+        );
+        String json = objectMapper.writeValueAsString(new PostBulkCreate(posts));
+
+        // when & then
+        mockMvc.perform(post("/posts/bulk")
+                        .contentType(APPLICATION_JSON)
+                        .content(json)
+                )
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors['posts[1].title']").value("제목을 입력해주세요."))
+                .andDo(print());
+
+        assertThat(postRepository.count()).isEqualTo(0L);
+    }
+
     @Test
     @DisplayName("[GET] 단 건 조회시 post 한 건이 조회된다.")
     public void whenSearchPost_thenReturnOnePost() throws Exception {
@@ -130,6 +213,107 @@ class PostControllerTest {
                 .andDo(print());
     }
 
+    @Test
+    @DisplayName("[GET] 단 건 조회시 ETag가 같으면 304를 받는다.")
+    public void givenSameETag_whenSearchPost_thenNotModified() throws Exception {
+        // given
+        com.calilog.domain.Post post = com.calilog.domain.Post.builder()
+                .title("foo")
+                .content("bar")
+                .build();
+        postRepository.save(post);
+
+        String eTag = mockMvc.perform(get("/posts/{postId}", post.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        // when & then
+        mockMvc.perform(get("/posts/{postId}", post.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("[GET] 캐시에 없는 글은 한 번만 읽어 ETag 확인과 응답에 함께 쓴다.")
+    public void givenNotCachedPost_whenSearchPost_thenSingleQuery() throws Exception {
+        // given
+        com.calilog.domain.Post post = com.calilog.domain.Post.builder()
+                .title("foo")
+                .content("bar")
+                .build();
+        postRepository.save(post);
+        postCache.clear();
+        DistributionSummary summary = meterRegistry.summary("calilog.hibernate.statements",
+                "method", "GET", "uri", "/posts/{postId}");
+        double before = summary.totalAmount();
+
+        // when
+        mockMvc.perform(get("/posts/{postId}", post.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG));
+
+        // then
+        assertThat(summary.totalAmount() - before).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("[GET] 글이 수정되면 이전 ETag로 조회해도 새 글을 받는다.")
+    public void givenEditedPost_whenSearchWithOldETag_thenReturnPost() throws Exception {
+        // given
+        com.calilog.domain.Post post = com.calilog.domain.Post.builder()
+                .title("foo")
+                .content("bar")
+                .build();
+        postRepository.save(post);
+
+        String eTag = mockMvc.perform(get("/posts/{postId}", post.getId()))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(patch("/posts/{postId}", post.getId())
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(PostEdit.builder()
+                                .title("foo2")
+                                .content("bar")
+                                .build())))
+                .andExpect(status().isOk());
+
+        // when & then
+        mockMvc.perform(get("/posts/{postId}", post.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("foo2"))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("[GET] 목록 조회시 ETag가 같으면 304를 받는다.")
+    public void givenSameETag_whenSearchPosts_thenNotModified() throws Exception {
+        // given
+        postRepository.save(com.calilog.domain.Post.builder()
+                .title("foo")
+                .content("bar")
+                .build());
+
+        String eTag = mockMvc.perform(get("/posts?page=1&size=10"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        // when & then
+        mockMvc.perform(get("/posts?page=1&size=10")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andDo(print());
+    }
+
     @Test
     @DisplayName("[GET] 여러 건 조회시 post 여러 건이 조회된다.")
     public void whenSearchPosts_thenReturnPosts() throws Exception {
@@ -155,6 +339,8 @@ class PostControllerTest {
                 .andExpect(jsonPath("$[0].id").value(post1.getId()))
                 .andExpect(jsonPath("$[0].title").value("foo1"))
                 .andExpect(jsonPath("$[1].title").value("foo2"))
+                .andExpect(jsonPath("$[1].excerpt").value("bar2"))
+                .andExpect(jsonPath("$[1].content").doesNotExist())
                 .andDo(print());
     }
 
@@ -181,6 +367,169 @@ class PostControllerTest {
                 .andDo(print());
     }
 
+    @Test
+    @DisplayName("[GET] 첫 페이지는 미리 만들어 둔 응답을 내려주고, 글이 추가되면 DB에서 다시 조회한다.")
+    public void givenFrontPageCache_whenSearchFirstPage_thenServeCachedBody() throws Exception {
+        // given
+        com.calilog.domain.Post post = postRepository.save(com.calilog.domain.Post.builder()
+                .title("foo")
+                .content("bar")
+                .build());
+        frontPageCache.rebuild();
+
+        // 캐시에서 내려주는지 확인하기 위해 이벤트 없이 DB에서만 지운다.
+        postRepository.deleteAll();
+
+        String eTag = mockMvc.perform(get("/posts?page=1&size=10"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(APPLICATION_JSON))
+                .andExpect(jsonPath("$.length()", is(1)))
+                .andExpect(jsonPath("$[0].id").value(post.getId()))
+                .andExpect(jsonPath("$[0].excerpt").value("bar"))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/posts?page=1&size=10")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        // when
+        mockMvc.perform(post("/posts")
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(PostCreate.builder()
+                                .title("새 글")
+                                .content("새 내용")
+                                .build())))
+                .andExpect(status().isOk());
+
+        // then
+        mockMvc.perform(get("/posts?page=1&size=10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(1)))
+                .andExpect(jsonPath("$[0].title").value("새 글"))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("[GET] 커서 조회시 최신 글부터 조회되고 다음 커서를 받는다.")
+    public void whenScrollPosts_thenReturnNewestPostsAndNextCursor() throws Exception {
+        // given
+        List<com.calilog.domain.Post> requestPost = IntStream.range(0, 30)
+                .mapToObj(i ->
+                        com.calilog.domain.Post.builder()
+                                .title("title" + i)
+                                .content("content" + i)
+                                .build()
+                )
+                .collect(Collectors.toList());
+        postRepository.saveAll(requestPost);
+
+        // when & then
+        mockMvc.perform(get("/posts/scroll?size=10")
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.posts.length()", is(10)))
+                .andExpect(jsonPath("$.posts[0].title").value("title29"))
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty())
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("[GET] 잘못된 커서로 조회시 오류 발생")
+    public void whenScrollWithInvalidCursor_thenBadRequest() throws Exception {
+        // when & then
+        mockMvc.perform(get("/posts/scroll?after=nonsense")
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("400"))
+                .andExpect(jsonPath("$.errors.cursor").value("잘못된 커서입니다."))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("[GET] /posts/export 요청시 since 이후의 글이 한 줄씩 내려온다.")
+    public void whenExportPostsSince_thenStreamNdjson() throws Exception {
+        // given
+        List<com.calilog.domain.Post> requestPost = IntStream.range(0, 3)
+                .mapToObj(i ->
+                        com.calilog.domain.Post.builder()
+                                .title("title" + i)
+                                .content("content" + i)
+                                .build()
+                )
+                .collect(Collectors.toList());
+        postRepository.saveAll(requestPost);
+        Long sinceId = requestPost.get(0).getId();
+
+        // when
+        MvcResult mvcResult = mockMvc.perform(get("/posts/export?since={since}", sinceId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        String body = mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readTree(lines[0]).get("title").asText()).isEqualTo("title1");
+        assertThat(objectMapper.readTree(lines[1]).get("content").asText()).isEqualTo("content2");
+    }
+
+    @Test
+    @DisplayName("[GET] /posts/{postId}/content 요청시 본문이 text/plain으로 내려온다.")
+    public void whenGetContent_thenStreamPlainText() throws Exception {
+        // given
+        String longContent = "키움 히어로즈 우승 ".repeat(2000);
+        com.calilog.domain.Post longPost = postRepository.save(com.calilog.domain.Post.builder()
+                .title("긴 글")
+                .content(longContent)
+                .build());
+        com.calilog.domain.Post shortPost = postRepository.save(com.calilog.domain.Post.builder()
+                .title("짧은 글")
+                .content("짧은 내용")
+                .build());
+
+        // when
+        MvcResult longResult = mockMvc.perform(get("/posts/{postId}/content", longPost.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult shortResult = mockMvc.perform(get("/posts/{postId}/content", shortPost.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        String longBody = mockMvc.perform(asyncDispatch(longResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/plain;charset=UTF-8"))
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+        assertThat(longBody).isEqualTo(longContent);
+
+        String shortBody = mockMvc.perform(asyncDispatch(shortResult))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+        assertThat(shortBody).isEqualTo("짧은 내용");
+    }
+
+    @Test
+    @DisplayName("[GET] /posts/{postId}/content 존재하지 않는 글이면 404")
+    public void givenNotExistPost_whenGetContent_thenNotFound() throws Exception {
+        mockMvc.perform(get("/posts/{postId}/content", 1L))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.code").value("404"))
+                .andDo(print());
+    }
+
     @Test
     @DisplayName("글 제목 수정")
     public void whenPatchTitleData_thenTitleChanged() throws Exception {
@@ -205,6 +554,61 @@ class PostControllerTest {
                 .andDo(print());
     }
 
+    @Test
+    @DisplayName("이전 ETag를 If-Match로 보내 수정하면 409를 받는다.")
+    public void givenStaleIfMatch_whenPatch_thenConflict() throws Exception {
+        // given
+        com.calilog.domain.Post post = com.calilog.domain.Post.builder()
+                .title("foo1")
+                .content("bar1")
+                .build();
+        postRepository.save(post);
+
+        String eTag = mockMvc.perform(get("/posts/{postId}", post.getId()))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        String body = objectMapper.writeValueAsString(PostEdit.builder()
+                .title("foo2")
+                .build());
+        mockMvc.perform(patch("/posts/{postId}", post.getId())
+                        .header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType(APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk());
+
+        // when & then
+        mockMvc.perform(patch("/posts/{postId}", post.getId())
+                        .header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType(APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.code").value("409"))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("글 수정시 값을 보낸 필드는 공백일 수 없다.")
+    public void whenPatchBlankTitle_thenBadRequest() throws Exception {
+        // given
+        com.calilog.domain.Post post = com.calilog.domain.Post.builder()
+                .title("foo1")
+                .content("bar1")
+                .build();
+        postRepository.save(post);
+
+        // when & then
+        mockMvc.perform(patch("/posts/{postId}", post.getId())
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(PostEdit.builder()
+                                .title(" ")
+                                .build())))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.title").value("제목을 입력해주세요."))
+                .andDo(print());
+    }
+
     @Test
     @DisplayName("게시글 삭제")
     public void delete_post_by_id() throws Exception {
@@ -222,6 +626,134 @@ class PostControllerTest {
                 .andDo(print());
     }
 
+    @Test
+    @DisplayName("[GET] /posts/{postId} 요청마다 조회수가 오르고, 주기적으로 DB에 저장된다.")
+    public void whenGetPostRepeatedly_thenViewCountIncreases() throws Exception {
+        // given
+        com.calilog.domain.Post post = postRepository.save(com.calilog.domain.Post.builder()
+                .title("foo")
+                .content("bar")
+                .build());
+
+        // when
+        mockMvc.perform(get("/posts/{postId}", post.getId()))
+                .andExpect(jsonPath("$.viewCount").value(1));
+        mockMvc.perform(get("/posts/{postId}", post.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.viewCount").value(2));
+        postViewCounter.flush();
+
+        // then
+        assertThat(jdbcTemplate.queryForObject("select view_count from post where id = ?", Long.class, post.getId()))
+                .isEqualTo(2L);
+        mockMvc.perform(get("/posts/{postId}", post.getId()))
+                .andExpect(jsonPath("$.viewCount").value(3));
+    }
+
+    @Test
+    @DisplayName("[GET] /posts/{postId} 한동안 조회가 없어 메모리에서 빠진 글도 조회수가 줄지 않는다.")
+    public void givenIdlePost_whenGetAgain_thenViewCountNotDecrease() throws Exception {
+        // given
+        com.calilog.domain.Post post = postRepository.save(com.calilog.domain.Post.builder()
+                .title("foo")
+                .content("bar")
+                .build());
+        mockMvc.perform(get("/posts/{postId}", post.getId()))
+                .andExpect(jsonPath("$.viewCount").value(1));
+
+        // when (저장 -> 조회 없는 주기에 메모리에서 빠짐 -> 남은 항목 정리)
+        postViewCounter.flush();
+        postViewCounter.flush();
+        postViewCounter.flush();
+
+        // then (캐시된 응답의 조회수는 0이지만 이전 값에서 이어서 센다)
+        mockMvc.perform(get("/posts/{postId}", post.getId()))
+                .andExpect(jsonPath("$.viewCount").value(2));
+    }
+
+    @Test
+    @DisplayName("[GET] /posts/popular 요청시 저장된 조회수가 많은 글부터 준다.")
+    public void givenViewedPosts_whenGetPopular_thenOrderByViews() throws Exception {
+        // given
+        com.calilog.domain.Post post1 = com.calilog.domain.Post.builder()
+                .title("foo1")
+                .content("bar1")
+                .build();
+        com.calilog.domain.Post post2 = com.calilog.domain.Post.builder()
+                .title("foo2")
+                .content("bar2")
+                .build();
+        postRepository.saveAll(List.of(post1, post2));
+
+        mockMvc.perform(get("/posts/{postId}", post1.getId()));
+        mockMvc.perform(get("/posts/{postId}", post2.getId()));
+        mockMvc.perform(get("/posts/{postId}", post2.getId()));
+        postViewCounter.flush();
+
+        // expected
+        mockMvc.perform(get("/posts/popular?size=10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(2)))
+                .andExpect(jsonPath("$[0].id").value(post2.getId()))
+                .andExpect(jsonPath("$[1].id").value(post1.getId()))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("[GET] /posts?ids= 요청시 요청한 순서대로 글을 주고, 없는 id는 따로 알려준다.")
+    public void whenGetPostsByIds_thenReturnInRequestOrder() throws Exception {
+        // given
+        com.calilog.domain.Post post1 = com.calilog.domain.Post.builder()
+                .title("foo1")
+                .content("bar1")
+                .build();
+        com.calilog.domain.Post post2 = com.calilog.domain.Post.builder()
+                .title("foo2")
+                .content("bar2")
+                .build();
+        postRepository.saveAll(List.of(post1, post2));
+        // 캐시에 있는 글과 DB에서 읽는 글이 섞여도 순서가 유지된다.
+        mockMvc.perform(get("/posts/{postId}", post1.getId()));
+        Long missingId = post2.getId() + 100;
+
+        // when & then
+        mockMvc.perform(get("/posts")
+                        .param("ids", post2.getId() + "," + missingId + "," + post1.getId() + "," + post2.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.posts.length()", is(2)))
+                .andExpect(jsonPath("$.posts[0].title").value("foo2"))
+                .andExpect(jsonPath("$.posts[1].title").value("foo1"))
+                .andExpect(jsonPath("$.posts[1].content").value("bar1"))
+                .andExpect(jsonPath("$.missingIds.length()", is(1)))
+                .andExpect(jsonPath("$.missingIds[0]").value(missingId))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("게시글 여러 건 삭제")
+    public void delete_posts_by_ids() throws Exception {
+        // given
+        com.calilog.domain.Post post1 = com.calilog.domain.Post.builder()
+                .title("foo1")
+                .content("bar1")
+                .build();
+        com.calilog.domain.Post post2 = com.calilog.domain.Post.builder()
+                .title("foo2")
+                .content("bar2")
+                .build();
+        postRepository.saveAll(List.of(post1, post2));
+
+        // when & then
+        mockMvc.perform(delete("/posts")
+                        .param("ids", post1.getId() + "," + post2.getId())
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deletedCount").value(2))
+                .andDo(print());
+
+        assertThat(postRepository.count()).isEqualTo(0L);
+    }
+
     @Test
     @DisplayName("존재하지 않는 게시글 조회시 오류 발생")
     public void whenSearchNotExistPost_thenThrowException() throws Exception {
@@ -235,6 +767,47 @@ class PostControllerTest {
                 .andDo(print());
     }
 
+    @Test
+    @DisplayName("오류 응답과 서비스 호출은 메트릭으로 집계된다")
+    public void whenSearchNotExistPost_thenRecordMetrics() throws Exception {
+        // given
+        double before = meterRegistry.counter("calilog.exceptions",
+                "exception", "PostNotFoundException", "status", "404").count();
+
+        // when
+        mockMvc.perform(get("/posts/{postId}", 1L))
+                .andExpect(status().isNotFound());
+
+        // then
+        assertThat(meterRegistry.counter("calilog.exceptions",
+                "exception", "PostNotFoundException", "status", "404").count()).isEqualTo(before + 1);
+        assertThat(meterRegistry.find("calilog.post.service").tag("method", "getPost").timer())
+                .isNotNull();
+        assertThat(meterRegistry.find("calilog.hibernate.statements").tag("uri", "/posts/{postId}").summary())
+                .isNotNull();
+    }
+
+    @Test
+    @DisplayName("비동기 요청은 요청 스레드의 SQL 집계를 비우고, 비동기 디스패치가 끝날 때 기록한다")
+    public void whenAsyncRequest_thenClearThreadLocalAndRecordMetrics() throws Exception {
+        // when
+        MvcResult mvcResult = mockMvc.perform(get("/posts/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        assertThat(HibernateRequestCounter.end()).isNull();
+
+        // when
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk());
+
+        // then
+        assertThat(HibernateRequestCounter.end()).isNull();
+        assertThat(meterRegistry.find("calilog.hibernate.statements").tag("uri", "/posts/export").summary())
+                .isNotNull();
+    }
+
     @Test
     @DisplayName("존재하지 않는 게시글 수정시 오류 발생")
     public void whenUpdateNotExistPost_thenThrowException() throws Exception {
@@ -288,4 +861,48 @@ class PostControllerTest {
                 .andExpect(status().isBadRequest())
                 .andDo(print());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("띄어쓰기나 특수문자를 섞어도 금칙어는 걸러진다.")
+    public void whenObfuscatedBannedWord_thenThrowInvalidRequestException() throws Exception {
+        // given
+        PostCreate request = PostCreate.builder()
+                .title("제목")
+                .content("너는 바 .보 야")
+                .build();
+        String postJson = objectMapper.writeValueAsString(request);
+
+        // when & then
+        mockMvc.perform(post("/posts")
+                        .contentType(APPLICATION_JSON)
+                        .content(postJson)
+                )
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.content").value("내용에 부적절한 단어가 감지되었습니다."))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("글 수정시에도 금칙어를 검사한다.")
+    public void whenEditWithBannedWord_thenThrowInvalidRequestException() throws Exception {
+        // given
+        com.calilog.domain.Post post = com.calilog.domain.Post.builder()
+                .title("foo")
+                .content("bar")
+                .build();
+        postRepository.save(post);
+
+        PostEdit postEdit = PostEdit.builder()
+                .title("바보")
+                .content("bar")
+                .build();
+
+        // when & then
+        mockMvc.perform(patch("/posts/{postId}", post.getId())
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(postEdit)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.title").value("제목에 부적절한 단어가 감지되었습니다."))
+                .andDo(print());
+    }
+}
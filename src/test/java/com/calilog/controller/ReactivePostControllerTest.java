@@ -0,0 +1,195 @@
+package com.calilog.controller;
+
+import com.calilog.domain.Post;
+import com.calilog.repository.PostRepository;
+import com.calilog.request.PostCreate;
+import com.calilog.request.PostEdit;
+import com.calilog.response.PostETag;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+
+@DisplayName("Controller - 게시글 컨트롤러 (WebFlux)")
+@AutoConfigureWebTestClient
+@SpringBootTest(properties = {
+        "spring.main.web-application-type=reactive",
+        "spring.datasource.url=jdbc:h2:mem:calilog-reactive",
+        "calilog.reactive.r2dbc-url=r2dbc:h2:mem:///calilog-reactive?options=DB_CLOSE_DELAY=-1"
+})
+class ReactivePostControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @BeforeEach
+    void clean() {
+        postRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("[POST] /posts 요청시 DB에 값이 저장된다.")
+    public void givenPostRequestData_whenCallPosts_thenInsertDataInDB() {
+        // given
+        PostCreate request = PostCreate.builder()
+                .title("제목")
+                .content("내용")
+                .build();
+
+        // when
+        webTestClient.post().uri("/posts")
+                .contentType(APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.postId").isNumber();
+
+        // then
+        assertThat(postRepository.count()).isEqualTo(1L);
+        Post post = postRepository.findAll().get(0);
+        assertThat(post.getTitle()).isEqualTo("제목");
+        assertThat(post.getContent()).isEqualTo("내용");
+        assertThat(post.getVersion()).isEqualTo(0L);
+    }
+
+    @Test
+    @DisplayName("[POST] /posts 요청시 검증 오류는 서블릿 버전과 같은 형식으로 응답한다.")
+    public void whenPostsWithoutTitle_thenThrowException() {
+        // given
+        PostCreate request = PostCreate.builder()
+                .title("")
+                .content("내용")
+                .build();
+
+        // when & then
+        webTestClient.post().uri("/posts")
+                .contentType(APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.code").isEqualTo("400")
+                .jsonPath("$.message").isEqualTo("잘못된 요청입니다.")
+                .jsonPath("$.errors.title").isEqualTo("제목을 입력해주세요.");
+    }
+
+    @Test
+    @DisplayName("[GET] /posts 요청시 페이지 단위로 요약 목록을 받는다.")
+    public void whenGetPosts_thenReturnSummaries() {
+        // given
+        List<Post> posts = IntStream.range(0, 20)
+                .mapToObj(i -> Post.builder()
+                        .title("제목 " + i)
+                        .content("내용 " + i)
+                        .build())
+                .collect(Collectors.toList());
+        postRepository.saveAll(posts);
+
+        // when & then
+        webTestClient.get().uri("/posts?page=2&size=5")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(5)
+                .jsonPath("$[0].title").isEqualTo("제목 5")
+                .jsonPath("$[0].excerpt").isEqualTo("내용 5")
+                .jsonPath("$[0].content").doesNotExist();
+    }
+
+    @Test
+    @DisplayName("[GET] /posts/{postId} 요청시 ETag가 같으면 304를 받는다.")
+    public void whenGetPostWithETag_thenNotModified() {
+        // given
+        Post post = postRepository.save(Post.builder()
+                .title("제목")
+                .content("내용")
+                .build());
+
+        String eTag = webTestClient.get().uri("/posts/{postId}", post.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("제목")
+                .jsonPath("$.content").isEqualTo("내용")
+                .returnResult()
+                .getResponseHeaders()
+                .getETag();
+
+        // when & then
+        webTestClient.get().uri("/posts/{postId}", post.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+
+    @Test
+    @DisplayName("[PATCH] /posts/{postId} 요청시 If-Match 버전이 다르면 409를 받는다.")
+    public void givenStaleVersion_whenEditPost_thenConflict() {
+        // given
+        Post post = postRepository.save(Post.builder()
+                .title("제목")
+                .content("내용")
+                .build());
+        PostEdit request = PostEdit.builder()
+                .title("수정된 제목")
+                .build();
+
+        webTestClient.patch().uri("/posts/{postId}", post.getId())
+                .contentType(APPLICATION_JSON)
+                .header(HttpHeaders.IF_MATCH, PostETag.of(post.getId(), 0L))
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isOk();
+
+        // when & then
+        webTestClient.patch().uri("/posts/{postId}", post.getId())
+                .contentType(APPLICATION_JSON)
+                .header(HttpHeaders.IF_MATCH, PostETag.of(post.getId(), 0L))
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody()
+                .jsonPath("$.code").isEqualTo("409");
+
+        Post edited = postRepository.findById(post.getId()).orElseThrow();
+        assertThat(edited.getTitle()).isEqualTo("수정된 제목");
+        assertThat(edited.getContent()).isEqualTo("내용");
+        assertThat(edited.getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("[DELETE] /posts/{postId} 요청시 없는 글이면 404를 받는다.")
+    public void whenDeleteNotExistPost_thenNotFound() {
+        // given
+        Post post = postRepository.save(Post.builder()
+                .title("제목")
+                .content("내용")
+                .build());
+
+        webTestClient.delete().uri("/posts/{postId}", post.getId())
+                .exchange()
+                .expectStatus().isOk();
+
+        // when & then
+        webTestClient.delete().uri("/posts/{postId}", post.getId())
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("존재하지 않는 글입니다.");
+        assertThat(postRepository.count()).isEqualTo(0L);
+    }
+}
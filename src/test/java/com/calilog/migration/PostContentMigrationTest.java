@@ -0,0 +1,97 @@
+package com.calilog.migration;
+
+import com.calilog.cache.PostCache;
+import com.calilog.repository.PostRepository;
+import com.calilog.response.PostResponse;
+import com.calilog.response.PostSummary;
+import com.calilog.request.PostSearch;
+import com.calilog.service.PostService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class PostContentMigrationTest {
+
+    @Autowired
+    private PostContentMigration postContentMigration;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PostCache postCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void beforeTest() {
+        postRepository.deleteAll();
+        postCache.clear();
+    }
+
+    @Test
+    @DisplayName("압축 도입 전에 저장된 본문을 압축 형식으로 바꾸고 목록용 앞부분을 채운다")
+    public void givenLegacyContent_whenMigrate_thenCompressAndFillExcerpt() {
+        // given
+        String content = "키움 히어로즈 이정후 MVP. ".repeat(200);
+        byte[] legacy = content.getBytes(UTF_8);
+        jdbcTemplate.update("insert into post (id, title, content, excerpt, version, updated_at) values (?, ?, ?, null, 0, ?)",
+                1_000_000L, "제목", legacy, LocalDateTime.now());
+
+        // when
+        long migrated = postContentMigration.migrate();
+
+        // then
+        assertThat(migrated).isEqualTo(1L);
+
+        byte[] stored = jdbcTemplate.queryForObject("select content from post where id = ?", byte[].class, 1_000_000L);
+        assertThat(stored.length).isLessThan(legacy.length / 10);
+
+        PostResponse postResponse = postService.getPost(1_000_000L);
+        assertThat(postResponse.getContent()).isEqualTo(content);
+
+        List<PostSummary> posts = postService.getPostList(PostSearch.builder().build());
+        assertThat(posts.get(0).getExcerpt()).isEqualTo(content.substring(0, PostSummary.EXCERPT_LENGTH));
+
+        // 이미 바꾼 글은 다시 건드리지 않는다.
+        assertThat(postContentMigration.migrate()).isZero();
+    }
+
+    @Test
+    @DisplayName("형식 헤더와 같은 바이트(U+0000, U+0001)로 시작하는 이전 본문도 그대로 읽고 변환한다")
+    public void givenLegacyContentStartingWithControlCharacter_whenReadAndMigrate_thenUnchanged() {
+        // given
+        String content = "\u0001" + "키움 히어로즈 이정후 MVP. ".repeat(100);
+        String shortContent = "\u0000짧은 글";
+        jdbcTemplate.update("insert into post (id, title, content, excerpt, version, updated_at) values (?, ?, ?, null, 0, ?)",
+                1_000_001L, "제목", content.getBytes(UTF_8), LocalDateTime.now());
+        jdbcTemplate.update("insert into post (id, title, content, excerpt, version, updated_at) values (?, ?, ?, null, 0, ?)",
+                1_000_002L, "제목", shortContent.getBytes(UTF_8), LocalDateTime.now());
+
+        // expected
+        assertThat(postService.getPost(1_000_001L).getContent()).isEqualTo(content);
+        assertThat(postService.getPost(1_000_002L).getContent()).isEqualTo(shortContent);
+
+        // when
+        postContentMigration.migrate();
+        postCache.clear();
+
+        // then
+        assertThat(postService.getPost(1_000_001L).getContent()).isEqualTo(content);
+        assertThat(postService.getPost(1_000_002L).getContent()).isEqualTo(shortContent);
+    }
+}
@@ -0,0 +1,47 @@
+package com.calilog.moderation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Moderation - 금칙어 검사")
+class BannedWordMatcherTest {
+
+    private final BannedWordMatcher matcher = BannedWordMatcher.of(List.of("바보", "abc123"));
+
+    @Test
+    @DisplayName("한 글자씩 띄우거나 특수문자를 끼운 금칙어는 걸러진다")
+    public void givenSpelledOutWord_whenFind_thenMatched() {
+        assertThat(find("너는 바 .보 야")).hasValue("바보");
+        assertThat(find("바.보")).hasValue("바보");
+    }
+
+    @Test
+    @DisplayName("띄어 쓴 단어의 경계를 넘어서는 금칙어로 보지 않는다")
+    public void givenWordsAcrossBoundary_whenFind_thenNotMatched() {
+        assertThat(TextNormalizer.normalize("그 바 보다")).isEqualTo("그바 보다");
+        assertThat(find("그 바 보다")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("숫자는 지우지 않으므로 숫자가 들어간 금칙어도 걸러진다")
+    public void givenWordWithDigits_whenFind_thenMatched() {
+        assertThat(find("ABC123 입니다")).hasValue("abc123");
+        assertThat(find("abc 456")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("호환용 자모와 전각 문자는 NFKC로 합친 뒤 비교한다")
+    public void givenCompatibilityCharacters_whenFind_thenMatched() {
+        assertThat(TextNormalizer.normalize("ㅂㅏㅂㅗ")).isEqualTo("바보");
+        assertThat(find("ＡＢＣ１２３")).hasValue("abc123");
+    }
+
+    private Optional<String> find(String text) {
+        return matcher.findFirst(TextNormalizer.normalize(text));
+    }
+}
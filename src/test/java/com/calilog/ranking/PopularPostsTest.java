@@ -0,0 +1,78 @@
+package com.calilog.ranking;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("Ranking - 인기 글 순위")
+class PopularPostsTest {
+
+    private static final Duration HALF_LIFE = Duration.ofHours(6);
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Test
+    @DisplayName("오래전 조회는 half-life마다 절반의 점수로 비교된다")
+    public void givenOldViews_whenAddNewViews_thenDecayed() {
+        // given
+        PopularPosts popularPosts = new PopularPosts(HALF_LIFE, 100, 10);
+        popularPosts.add(Map.of(1L, 4.0), NOW);
+
+        // when
+        popularPosts.add(Map.of(2L, 1.0), NOW.plus(HALF_LIFE.multipliedBy(3)));
+
+        // then (4 / 2^3 = 0.5 < 1)
+        assertThat(popularPosts.top(10)).containsExactly(2L, 1L);
+    }
+
+    @Test
+    @DisplayName("같은 글에 더한 점수는 합쳐진다")
+    public void givenSameTime_whenAddTwice_thenSummed() {
+        // given
+        PopularPosts popularPosts = new PopularPosts(HALF_LIFE, 100, 10);
+        popularPosts.add(Map.of(1L, 3.0), NOW);
+        popularPosts.add(Map.of(2L, 2.0), NOW);
+
+        // when
+        popularPosts.add(Map.of(2L, 2.0), NOW);
+
+        // then
+        assertThat(popularPosts.top(10)).containsExactly(2L, 1L);
+        assertThat(popularPosts.scores().get(2L)).isCloseTo(popularPosts.score(4.0, NOW), within(1e-9));
+    }
+
+    @Test
+    @DisplayName("capacity를 넘으면 점수가 가장 낮은 글을 뺀다")
+    public void givenFullRanking_whenAdd_thenDropLowest() {
+        // given
+        PopularPosts popularPosts = new PopularPosts(HALF_LIFE, 2, 10);
+        popularPosts.add(Map.of(1L, 1.0, 2L, 2.0), NOW);
+
+        // when
+        popularPosts.add(Map.of(3L, 3.0), NOW);
+
+        // then
+        assertThat(popularPosts.top(10)).containsExactly(3L, 2L);
+        assertThat(popularPosts.scores()).containsOnlyKeys(3L, 2L);
+    }
+
+    @Test
+    @DisplayName("삭제된 글은 순위에서 빠진다")
+    public void givenRankedPost_whenRemove_thenExcluded() {
+        // given
+        PopularPosts popularPosts = new PopularPosts(HALF_LIFE, 100, 10);
+        popularPosts.add(Map.of(1L, 1.0, 2L, 2.0), NOW);
+
+        // when
+        popularPosts.remove(List.of(2L));
+
+        // then
+        assertThat(popularPosts.top(10)).containsExactly(1L);
+    }
+}
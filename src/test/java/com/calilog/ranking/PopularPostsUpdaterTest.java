@@ -0,0 +1,80 @@
+package com.calilog.ranking;
+
+import com.calilog.domain.Post;
+import com.calilog.repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Instant;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Ranking - 인기 글 스냅샷")
+@SpringBootTest(properties = "calilog.popular.snapshot.path=${java.io.tmpdir}/calilog-popular-${random.uuid}.json")
+class PopularPostsUpdaterTest {
+
+    @Autowired
+    private PopularPostsUpdater popularPostsUpdater;
+
+    @Autowired
+    private PopularPosts popularPosts;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @BeforeEach
+    void beforeTest() {
+        postRepository.deleteAll();
+        popularPosts.clear();
+    }
+
+    @Test
+    @DisplayName("스냅샷으로 남긴 점수를 그대로 복원한다")
+    public void givenSnapshot_whenRestore_thenSameScores() {
+        // given
+        Post first = save("첫 글");
+        Post second = save("두번째 글");
+        popularPosts.add(Map.of(first.getId(), 3.0, second.getId(), 1.0), Instant.now());
+        Map<Long, Double> scores = popularPosts.scores();
+        popularPostsUpdater.snapshot();
+        popularPosts.clear();
+
+        // when
+        boolean restored = popularPostsUpdater.restore();
+
+        // then
+        assertThat(restored).isTrue();
+        assertThat(popularPosts.top(10)).containsExactly(first.getId(), second.getId());
+        assertThat(popularPosts.scores()).isEqualTo(scores);
+    }
+
+    @Test
+    @DisplayName("스냅샷 이후 DB에서 사라진 글의 점수는 복원하지 않는다")
+    public void givenDeletedPost_whenRestore_thenDropScore() {
+        // given
+        Post kept = save("남은 글");
+        Post deleted = save("지운 글");
+        popularPosts.add(Map.of(kept.getId(), 1.0, deleted.getId(), 5.0), Instant.now());
+        popularPostsUpdater.snapshot();
+        popularPosts.clear();
+        postRepository.delete(deleted);
+
+        // when
+        popularPostsUpdater.restore();
+
+        // then
+        assertThat(popularPosts.top(10)).containsExactly(kept.getId());
+        assertThat(popularPosts.scores()).containsOnlyKeys(kept.getId());
+    }
+
+    private Post save(String title) {
+        return postRepository.save(Post.builder()
+                .title(title)
+                .content("내용")
+                .build());
+    }
+}
@@ -0,0 +1,131 @@
+package com.calilog.service;
+
+import com.calilog.cache.PostCache;
+import com.calilog.datasource.ReplicaLagSimulator;
+import com.calilog.repository.PostRepository;
+import com.calilog.request.PostCreate;
+import com.calilog.request.PostSearch;
+import com.calilog.search.PostIndexUpdater;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Service - 읽기/쓰기 DataSource 분리")
+@SpringBootTest(properties = {
+        "calilog.datasource.routing.enabled=true",
+        "calilog.datasource.replica.urls=jdbc:h2:mem:calilog-replica-routing-test;DB_CLOSE_DELAY=-1",
+        "calilog.datasource.replica.simulation.enabled=true",
+        // 테스트에서는 sync()를 직접 호출해 복제 시점을 정한다.
+        "calilog.datasource.replica.simulation.lag=1h",
+        "calilog.datasource.replica.max-lag=1m",
+        "calilog.cache.front-page.pages=0"
+})
+class PostReadWriteRoutingTest {
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PostCache postCache;
+
+    @Autowired
+    private ReplicaLagSimulator replicaLagSimulator;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private PostIndexUpdater postIndexUpdater;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void beforeTest() throws Exception {
+        postRepository.deleteAllInBatch();
+        postCache.clear();
+        replicaLagSimulator.sync();
+    }
+
+    @Test
+    @DisplayName("읽기 전용 조회는 replica에서 읽으므로 복제되기 전에는 새 글이 보이지 않는다")
+    public void givenNotReplicatedPost_whenGetList_thenReadFromReplica() throws Exception {
+        // given
+        postService.write(PostCreate.builder()
+                .title("제목")
+                .content("내용")
+                .build());
+        PostSearch firstPage = PostSearch.builder().page(1).size(10).build();
+
+        // expected
+        assertThat(postService.getPostList(firstPage)).isEmpty();
+
+        // when
+        replicaLagSimulator.sync();
+
+        // then
+        assertThat(postService.getPostList(firstPage)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("이 노드에서 방금 쓴 글은 복제 지연 동안 primary에서 읽으므로 바로 단 건 조회된다")
+    public void givenJustWrittenPost_whenGetPost_thenReadFromPrimary() throws Exception {
+        // given
+        Long postId = postService.write(PostCreate.builder()
+                .title("제목")
+                .content("내용")
+                .build());
+
+        // expected (replica에는 아직 없다)
+        assertThat(postService.getPostList(PostSearch.builder().page(1).size(10).build())).isEmpty();
+        assertThat(postService.getPostVersion(postId).getETag()).isNotNull();
+        assertThat(postService.getPost(postId).getTitle()).isEqualTo("제목");
+    }
+
+    @Test
+    @DisplayName("새 글은 replica 복제를 기다리지 않고 primary에서 읽어 색인한다")
+    public void givenNotReplicatedPost_whenIndex_thenReadFromPrimary() throws Exception {
+        // given
+        postService.write(PostCreate.builder()
+                .title("고척돔 직관")
+                .content("키움 히어로즈 승리")
+                .build());
+
+        // when
+        postIndexUpdater.awaitPending(Duration.ofSeconds(5));
+        replicaLagSimulator.sync();
+
+        // then
+        assertThat(postService.searchPosts(PostSearch.builder().keyword("고척돔").build())).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("읽기 전용 트랜잭션에서는 Hibernate flush mode가 MANUAL이다")
+    public void whenReadOnlyTransaction_thenFlushModeManual() {
+        // given
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+
+        // when
+        FlushMode flushMode = readOnlyTransaction.execute(status ->
+                entityManager.unwrap(Session.class).getHibernateFlushMode());
+
+        // then
+        assertThat(flushMode).isEqualTo(FlushMode.MANUAL);
+    }
+}
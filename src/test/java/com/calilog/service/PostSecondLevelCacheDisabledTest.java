@@ -0,0 +1,68 @@
+package com.calilog.service;
+
+import com.calilog.domain.Post;
+import com.calilog.repository.PostRepository;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.cache.Caching;
+import javax.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Service - Hibernate 2차 캐시 끔")
+@SpringBootTest
+class PostSecondLevelCacheDisabledTest {
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void beforeTest() {
+        postRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("calilog.cache.l2.enabled가 없으면 2차 캐시와 쿼리 캐시를 쓰지 않는다")
+    public void givenDefaultProperties_thenSecondLevelCacheDisabled() {
+        SessionFactoryOptions options = entityManagerFactory.unwrap(SessionFactory.class).getSessionFactoryOptions();
+
+        assertThat(options.isSecondLevelCacheEnabled()).isFalse();
+        assertThat(options.isQueryCacheEnabled()).isFalse();
+        assertThat(Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager()
+                .getCache(Post.CACHE_REGION))
+                .isNull();
+    }
+
+    @Test
+    @DisplayName("Hibernate 밖에서 바뀐 글도 다시 조회하면 바뀐 값을 읽는다")
+    public void givenLoadedPost_whenUpdateWithJdbc_thenReadNewValue() {
+        // given
+        Post post = postRepository.save(Post.builder()
+                .title("제목")
+                .content("내용")
+                .build());
+        postRepository.findById(post.getId());
+
+        // when
+        jdbcTemplate.update("update post set title = ? where id = ?", "JDBC로 바꾼 제목", post.getId());
+
+        // then
+        assertThat(entityManagerFactory.getCache().contains(Post.class, post.getId())).isFalse();
+        assertThat(postRepository.findById(post.getId()).orElseThrow().getTitle()).isEqualTo("JDBC로 바꾼 제목");
+    }
+}
@@ -0,0 +1,209 @@
+package com.calilog.service;
+
+import com.calilog.cache.PostCache;
+import com.calilog.config.SecondLevelCacheConfig;
+import com.calilog.domain.Post;
+import com.calilog.domain.PostContentConverter;
+import com.calilog.repository.PostRepository;
+import com.calilog.request.PostCreate;
+import com.calilog.request.PostEdit;
+import com.calilog.request.PostSearch;
+import com.calilog.response.PostSummary;
+import com.calilog.writebehind.PostWriteBehind;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.persistence.EntityManagerFactory;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Service - Hibernate 2차 캐시")
+@SpringBootTest(properties = {
+        "calilog.cache.l2.enabled=true",
+        "calilog.cache.l2.cached-list-pages=1",
+        // 첫 화면 캐시가 백그라운드에서 같은 목록을 조회하면 적중 횟수가 달라진다.
+        "calilog.cache.front-page.pages=0"
+})
+class PostSecondLevelCacheTest {
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PostCache postCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void beforeTest() {
+        postRepository.deleteAll();
+        postCache.clear();
+        entityManagerFactory.getCache().evictAll();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("id로 다시 조회하면 2차 캐시에서 읽는다")
+    public void givenLoadedPost_whenFindAgain_thenHitSecondLevelCache() {
+        // given
+        Post post = postRepository.save(Post.builder()
+                .title("제목")
+                .content("내용")
+                .build());
+        entityManagerFactory.getCache().evictAll();
+        postRepository.findById(post.getId());
+        long queries = statistics.getPrepareStatementCount();
+
+        // when
+        Post cached = postRepository.findById(post.getId()).orElseThrow();
+
+        // then
+        assertThat(cached.getTitle()).isEqualTo("제목");
+        assertThat(statistics.getDomainDataRegionStatistics(Post.CACHE_REGION).getHitCount()).isEqualTo(1L);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(queries);
+    }
+
+    @Test
+    @DisplayName("수정/삭제 후에는 2차 캐시의 이전 값을 읽지 않는다")
+    public void givenCachedPost_whenEditAndDelete_thenNotReadStaleValue() {
+        // given
+        Post post = postRepository.save(Post.builder()
+                .title("제목")
+                .content("내용")
+                .build());
+        postRepository.findById(post.getId());
+
+        // when
+        postService.edit(post.getId(), PostEdit.builder()
+                .title("수정된 제목")
+                .build());
+
+        // then
+        Post edited = postRepository.findById(post.getId()).orElseThrow();
+        assertThat(edited.getTitle()).isEqualTo("수정된 제목");
+        assertThat(edited.getVersion()).isEqualTo(1L);
+
+        // when
+        postService.delete(post.getId());
+
+        // then
+        assertThat(postRepository.findById(post.getId())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("목록 첫 페이지는 쿼리 캐시에서 읽고, 글이 추가되면 다시 조회한다")
+    public void givenCachedFirstPage_whenWrite_thenInvalidateQueryCache() {
+        // given
+        List<Post> posts = IntStream.range(0, 5)
+                .mapToObj(i -> Post.builder()
+                        .title("제목 " + i)
+                        .content("내용 " + i)
+                        .build())
+                .collect(Collectors.toList());
+        postRepository.saveAll(posts);
+        PostSearch firstPage = PostSearch.builder().page(1).size(10).build();
+        postService.getPostList(firstPage);
+
+        // when
+        List<PostSummary> cached = postService.getPostList(firstPage);
+
+        // then
+        assertThat(cached).hasSize(5);
+        assertThat(statistics.getQueryRegionStatistics(SecondLevelCacheConfig.POST_LIST_REGION).getHitCount())
+                .isEqualTo(1L);
+
+        // when
+        postService.write(PostCreate.builder()
+                .title("새 글")
+                .content("새 내용")
+                .build());
+
+        // then
+        assertThat(postService.getPostList(firstPage)).hasSize(6);
+        assertThat(statistics.getQueryRegionStatistics(SecondLevelCacheConfig.POST_LIST_REGION).getHitCount())
+                .isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("cached-list-pages 이후 페이지는 쿼리 캐시에 두지 않는다")
+    public void givenLaterPage_whenGetList_thenNotCached() {
+        // given
+        PostSearch secondPage = PostSearch.builder().page(2).size(10).build();
+
+        // when
+        postService.getPostList(secondPage);
+        postService.getPostList(secondPage);
+
+        // then
+        assertThat(statistics.getQueryCachePutCount()).isZero();
+        assertThat(statistics.getQueryCacheHitCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("write-behind가 JDBC로 저장한 글은 같은 id로 2차 캐시에 남은 이전 엔티티를 읽지 않는다")
+    public void givenStaleEntityForAssignedId_whenWriteBehindStore_thenReadStoredPost(@TempDir Path journalDir)
+            throws Exception {
+        // given
+        PostWriteBehind writeBehind = new PostWriteBehind(jdbcTemplate, transactionManager, eventPublisher,
+                objectMapper, new SimpleMeterRegistry(), 10, 100, journalDir, false, 1024 * 1024);
+        Long postId = writeBehind.enqueue("제목", "내용");
+
+        // Hibernate 밖에서 지워진 이전 글이 같은 id로 2차 캐시에 남아 있다.
+        jdbcTemplate.update("insert into post (id, title, content, excerpt, version, updated_at) values (?, ?, ?, ?, 0, ?)",
+                postId, "이전 제목", PostContentConverter.encode("이전 내용"), "이전 내용", LocalDateTime.now());
+        postRepository.findById(postId);
+        jdbcTemplate.update("delete from post where id = ?", postId);
+        assertThat(entityManagerFactory.getCache().contains(Post.class, postId)).isTrue();
+
+        // when
+        writeBehind.start();
+        try {
+            for (int i = 0; i < 50 && entityManagerFactory.getCache().contains(Post.class, postId); i++) {
+                Thread.sleep(100);
+            }
+        } finally {
+            writeBehind.stop();
+        }
+
+        // then
+        Post stored = postRepository.findById(postId).orElseThrow();
+        assertThat(stored.getTitle()).isEqualTo("제목");
+        assertThat(stored.getContent()).isEqualTo("내용");
+    }
+}
@@ -1,18 +1,28 @@
 package com.calilog.service;
 
+import com.calilog.cache.PostCache;
+import com.calilog.cache.PostCounter;
 import com.calilog.domain.Post;
+import com.calilog.exception.InvalidRequestException;
+import com.calilog.exception.PostConflictException;
 import com.calilog.exception.PostNotFoundException;
 import com.calilog.repository.PostRepository;
 import com.calilog.request.PostCreate;
 import com.calilog.request.PostEdit;
 import com.calilog.request.PostSearch;
 import com.calilog.response.PostResponse;
+import com.calilog.response.PostScrollResponse;
+import com.calilog.response.PostSummary;
+import com.calilog.search.PostIndexUpdater;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -31,9 +41,23 @@ class PostServiceTest {
     @Autowired
     private PostRepository postRepository;
 
+    @Autowired
+    private PostCache postCache;
+
+    @Autowired
+    private PostCounter postCounter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PostIndexUpdater postIndexUpdater;
+
     @BeforeEach
     void beforeTest() {
         postRepository.deleteAll();
+        postCache.clear();
+        postCounter.reconcile();
     }
 
     @Test
@@ -71,6 +95,31 @@ class PostServiceTest {
         assertThat(postResponse.getContent()).isEqualTo("bar");
     }
 
+    @Test
+    @DisplayName("글 단 건 조회는 캐시를 거치고, 수정하면 캐시가 비워진다")
+    public void givenCachedPost_whenEdit_thenEvictCache() throws Exception {
+        // given
+        Post requestPost = Post.builder()
+                .title("foo")
+                .content("bar")
+                .build();
+        postRepository.save(requestPost);
+        postService.getPost(requestPost.getId());
+        long hits = postCache.stats().getHits();
+
+        // when
+        postService.getPost(requestPost.getId());
+        postService.edit(requestPost.getId(), PostEdit.builder()
+                .title("foo2")
+                .content("bar2")
+                .build());
+        PostResponse postResponse = postService.getPost(requestPost.getId());
+
+        // then
+        assertThat(postCache.stats().getHits()).isEqualTo(hits + 1);
+        assertThat(postResponse.getTitle()).isEqualTo("foo2");
+    }
+
     @Test
     @DisplayName("글 1페이지 조회")
     public void whenSearchPosts_thenReturnFirstPostPage() throws Exception {
@@ -91,13 +140,176 @@ class PostServiceTest {
                 .build();
 
         // when
-        List<PostResponse> postList = postService.getPostList(postSearch);
+        List<PostSummary> postList = postService.getPostList(postSearch);
 
         // then
         assertThat(postList.size()).isEqualTo(10L);
         assertThat(postList.get(0).getTitle()).isEqualTo("title0");
     }
 
+    @Test
+    @DisplayName("글 목록 조회시 본문은 앞부분만 잘라서 가져온다")
+    public void whenSearchPosts_thenReturnExcerptOnly() throws Exception {
+        // given
+        postRepository.save(Post.builder()
+                .title("foo")
+                .content("가".repeat(PostSummary.EXCERPT_LENGTH + 100))
+                .build());
+
+        // when
+        List<PostSummary> postList = postService.getPostList(PostSearch.builder().build());
+
+        // then
+        assertThat(postList.get(0).getExcerpt()).hasSize(PostSummary.EXCERPT_LENGTH);
+    }
+
+    @Test
+    @DisplayName("긴 본문은 압축해서 저장하고, 조회와 수정은 원문 그대로 한다")
+    public void givenLongContent_whenWriteAndEdit_thenStoreCompressed() throws Exception {
+        // given
+        String content = "키움 히어로즈 이정후 MVP. ".repeat(200);
+        Long postId = postService.write(PostCreate.builder()
+                .title("foo")
+                .content(content)
+                .build());
+
+        // when
+        String edited = content + "수정";
+        postService.edit(postId, PostEdit.builder()
+                .content(edited)
+                .build());
+
+        // then
+        Post post = postRepository.findById(postId).orElseThrow();
+        assertThat(post.getContent()).isEqualTo(edited);
+        assertThat(post.getExcerpt()).isEqualTo(edited.substring(0, PostSummary.EXCERPT_LENGTH));
+
+        byte[] stored = jdbcTemplate.queryForObject("select content from post where id = ?", byte[].class, postId);
+        assertThat(stored.length).isLessThan(edited.getBytes(StandardCharsets.UTF_8).length / 10);
+    }
+
+    @Test
+    @DisplayName("글 페이지 조회시 size 만큼 건너뛴다")
+    public void whenSearchSecondPage_thenSkipBySize() throws Exception {
+        // given
+        List<Post> requestPost = IntStream.range(0, 30)
+                .mapToObj(i ->
+                        Post.builder()
+                                .title("title" + i)
+                                .content("content" + i)
+                                .build()
+                )
+                .collect(Collectors.toList());
+        postRepository.saveAll(requestPost);
+
+        PostSearch postSearch = PostSearch.builder()
+                .page(2)
+                .size(5)
+                .build();
+
+        // when
+        List<PostSummary> postList = postService.getPostList(postSearch);
+
+        // then
+        assertThat(postList.size()).isEqualTo(5L);
+        assertThat(postList.get(0).getTitle()).isEqualTo("title5");
+    }
+
+    @Test
+    @DisplayName("커서로 글 목록 조회")
+    public void whenScrollPosts_thenReturnNewestFirstWithCursor() throws Exception {
+        // given
+        List<Post> requestPost = IntStream.range(0, 30)
+                .mapToObj(i ->
+                        Post.builder()
+                                .title("title" + i)
+                                .content("content" + i)
+                                .build()
+                )
+                .collect(Collectors.toList());
+        postRepository.saveAll(requestPost);
+
+        // when
+        PostScrollResponse firstPage = postService.getPostScroll(PostSearch.builder()
+                .size(10)
+                .build());
+        PostScrollResponse secondPage = postService.getPostScroll(PostSearch.builder()
+                .size(10)
+                .after(firstPage.getNextCursor())
+                .build());
+        PostScrollResponse backToFirst = postService.getPostScroll(PostSearch.builder()
+                .size(10)
+                .before(secondPage.getPrevCursor())
+                .build());
+
+        // then
+        assertThat(firstPage.getPosts().size()).isEqualTo(10);
+        assertThat(firstPage.getPosts().get(0).getTitle()).isEqualTo("title29");
+        assertThat(firstPage.getPrevCursor()).isNull();
+        assertThat(secondPage.getPosts().get(0).getTitle()).isEqualTo("title19");
+        assertThat(backToFirst.getPosts().get(0).getTitle()).isEqualTo("title29");
+        assertThat(backToFirst.getPrevCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("검색어가 제목에 있는 글이 본문에만 있는 글보다 먼저 조회된다")
+    public void whenSearchPosts_thenReturnRankedByRelevance() throws Exception {
+        // given
+        postService.write(PostCreate.builder()
+                .title("오늘의 일기")
+                .content("키움 히어로즈 경기를 봤다")
+                .build());
+        postService.write(PostCreate.builder()
+                .title("히어로즈 우승")
+                .content("한국시리즈 이야기")
+                .build());
+        postService.write(PostCreate.builder()
+                .title("점심 메뉴")
+                .content("김치찌개")
+                .build());
+        postIndexUpdater.awaitPending(Duration.ofSeconds(5));
+
+        // when
+        List<PostSummary> result = postService.searchPosts(PostSearch.builder()
+                .keyword("히어로즈")
+                .build());
+
+        // then
+        assertThat(result).hasSize(2);
+        assertThat(result.get(0).getTitle()).isEqualTo("히어로즈 우승");
+    }
+
+    @Test
+    @DisplayName("삭제된 글은 검색되지 않는다")
+    public void givenDeletedPost_whenSearch_thenNotFound() throws Exception {
+        // given
+        Long postId = postService.write(PostCreate.builder()
+                .title("고척돔")
+                .content("야구장")
+                .build());
+
+        // when
+        postService.delete(postId);
+        postIndexUpdater.awaitPending(Duration.ofSeconds(5));
+
+        // then
+        assertThat(postService.searchPosts(PostSearch.builder().keyword("고척돔").build())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("검색 결과 범위를 넘는 페이지는 잘못된 요청이다")
+    public void givenTooDeepPage_whenSearch_thenInvalidRequest() {
+        // given
+        PostSearch postSearch = PostSearch.builder()
+                .keyword("히어로즈")
+                .page(Integer.MAX_VALUE)
+                .size(Integer.MAX_VALUE)
+                .build();
+
+        // expected
+        assertThrows(InvalidRequestException.class, () -> postService.searchPosts(postSearch));
+    }
+
     @Test
     @DisplayName("글 수정")
     public void whenChangedPostData_thenUpdatePost() throws Exception {
@@ -121,6 +333,46 @@ class PostServiceTest {
         assertThat(findPost.getContent()).isEqualTo(postEdit.getContent());
     }
 
+    @Test
+    @DisplayName("제목만 수정하면 본문은 그대로 남는다")
+    public void whenEditTitleOnly_thenKeepContent() throws Exception {
+        // given
+        Post post = Post.builder()
+                .title("박병호")
+                .content("홈런왕")
+                .build();
+        postRepository.save(post);
+
+        // when
+        postService.edit(post.getId(), PostEdit.builder()
+                .title("이정후")
+                .build());
+
+        // then
+        Post findPost = postRepository.findById(post.getId()).get();
+        assertThat(findPost.getTitle()).isEqualTo("이정후");
+        assertThat(findPost.getContent()).isEqualTo("홈런왕");
+        assertThat(findPost.getVersion()).isEqualTo(post.getVersion() + 1);
+    }
+
+    @Test
+    @DisplayName("다른 요청이 먼저 수정한 버전으로 수정하면 충돌 오류 발생")
+    public void givenStaleVersion_whenEdit_thenThrowConflict() throws Exception {
+        // given
+        Post post = Post.builder()
+                .title("박병호")
+                .content("홈런왕")
+                .build();
+        postRepository.save(post);
+        Long version = post.getVersion();
+        postService.edit(post.getId(), PostEdit.builder().title("이정후").build(), version);
+
+        // when & then
+        assertThrows(PostConflictException.class,
+                () -> postService.edit(post.getId(), PostEdit.builder().title("김혜성").build(), version));
+        assertThat(postRepository.findById(post.getId()).get().getTitle()).isEqualTo("이정후");
+    }
+
     @Test
     @DisplayName("게시글 삭제")
     public void delete_post() throws Exception {
@@ -138,6 +390,28 @@ class PostServiceTest {
         assertThat(postRepository.count()).isEqualTo(0);
     }
 
+    @Test
+    @DisplayName("게시글 여러 건 삭제시 존재하는 글만 지우고 삭제된 수를 반환한다")
+    public void delete_posts_by_ids() throws Exception {
+        // given
+        List<Post> posts = IntStream.range(0, 5)
+                .mapToObj(i -> Post.builder()
+                        .title("title" + i)
+                        .content("content" + i)
+                        .build())
+                .collect(Collectors.toList());
+        postRepository.saveAll(posts);
+
+        List<Long> ids = List.of(posts.get(0).getId(), posts.get(1).getId(), posts.get(4).getId() + 100L);
+
+        // when
+        long deletedCount = postService.deleteAll(ids);
+
+        // then
+        assertThat(deletedCount).isEqualTo(2L);
+        assertThat(postRepository.count()).isEqualTo(3L);
+    }
+
     @Test
     @DisplayName("글 조회시 존재하지 않는 글이면 오류 발생")
     public void whenSearchNotExistPost_thenThrowException() throws Exception {
@@ -184,11 +458,11 @@ class PostServiceTest {
     @Test
     void whenCountingArticles_thenReturnsArticleCount() {
         // Given
-        Post post = Post.builder()
+        PostCreate postCreate = PostCreate.builder()
                 .title("박병호")
                 .content("홈런왕")
                 .build();
-        postRepository.save(post);
+        postService.write(postCreate);
         long expected = 1L;
 
         // When
@@ -197,4 +471,25 @@ class PostServiceTest {
         // Then
         assertThat(postsCount).isEqualTo(expected);
     }
-}
\ No newline at end of file
+
+    @DisplayName("게시글을 삭제하면, 게시글 수가 줄어든다")
+    @Test
+    void whenDeletePost_thenDecreaseArticleCount() {
+        // Given
+        Long postId = postService.write(PostCreate.builder()
+                .title("박병호")
+                .content("홈런왕")
+                .build());
+        postService.write(PostCreate.builder()
+                .title("이정후")
+                .content("타격왕")
+                .build());
+
+        // When
+        postService.delete(postId);
+
+        // Then
+        assertThat(postService.getPostsCount()).isEqualTo(1L);
+        assertThat(postService.getPostPage(PostSearch.builder().build()).getTotalCount()).isEqualTo(1L);
+    }
+}
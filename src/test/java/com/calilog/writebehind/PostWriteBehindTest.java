@@ -0,0 +1,215 @@
+package com.calilog.writebehind;
+
+import com.calilog.cache.FrontPageCache;
+import com.calilog.cache.PostCache;
+import com.calilog.exception.PostQueueFullException;
+import com.calilog.repository.PostRepository;
+import com.calilog.request.PostCreate;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DisplayName("Write-behind - 게시글 지연 저장")
+@AutoConfigureMockMvc
+@SpringBootTest(properties = {
+        "calilog.write-behind.enabled=true",
+        "calilog.write-behind.journal.dir=${java.io.tmpdir}/calilog-journal-${random.uuid}"
+})
+class PostWriteBehindTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PostCache postCache;
+
+    @Autowired
+    private FrontPageCache frontPageCache;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @TempDir
+    private Path journalDir;
+
+    @BeforeEach
+    void clean() {
+        postRepository.deleteAll();
+        postCache.clear();
+        frontPageCache.clear();
+    }
+
+    @Test
+    @DisplayName("[POST] /posts 요청시 202와 id를 먼저 받고, 잠시 뒤 조회된다.")
+    public void whenPostWriteBehind_thenAcceptedAndSavedLater() throws Exception {
+        // given
+        PostCreate postCreate = PostCreate.builder()
+                .title("제목")
+                .content("내용")
+                .build();
+
+        // when
+        String body = mockMvc.perform(post("/posts")
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(postCreate)))
+                .andExpect(status().isAccepted())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        Long postId = objectMapper.readTree(body).get("postId").asLong();
+
+        // then
+        awaitSaved(postId);
+        mockMvc.perform(get("/posts/{postId}", postId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("제목"))
+                .andExpect(jsonPath("$.content").value("내용"));
+    }
+
+    @Test
+    @DisplayName("큐가 가득 차면 거절하고, writer가 시작되면 큐에 있던 글을 저장한다")
+    public void givenFullQueue_whenEnqueue_thenReject() throws Exception {
+        // given
+        PostWriteBehind writeBehind = newWriteBehind(1);
+        Long postId = writeBehind.enqueue("제목", "내용");
+
+        // expected
+        assertThatThrownBy(() -> writeBehind.enqueue("제목2", "내용2"))
+                .isInstanceOf(PostQueueFullException.class);
+
+        // when
+        writeBehind.start();
+
+        // then
+        try {
+            awaitSaved(postId);
+            assertThat(postRepository.count()).isEqualTo(1L);
+        } finally {
+            writeBehind.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("저장 전에 멈춘 글은 다음 기동 때 저널에서 복구한다")
+    public void givenJournaledPosts_whenRestart_thenRecover() throws Exception {
+        // given
+        PostWriteBehind crashed = newWriteBehind(10);
+        Long first = crashed.enqueue("제목1", "내용1");
+        Long second = crashed.enqueue("제목2", "내용2".repeat(1000));
+
+        // when
+        PostWriteBehind restarted = newWriteBehind(10);
+        restarted.start();
+
+        // then
+        try {
+            assertThat(postRepository.findById(first).orElseThrow().getTitle()).isEqualTo("제목1");
+            assertThat(postRepository.findById(second).orElseThrow().getContent()).isEqualTo("내용2".repeat(1000));
+        } finally {
+            restarted.stop();
+        }
+
+        // when
+        PostWriteBehind restartedAgain = newWriteBehind(10);
+        restartedAgain.start();
+        restartedAgain.stop();
+
+        // then
+        assertThat(postRepository.count()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("생성 이벤트 처리가 실패해도 저장한 글은 저널에서 정리하고 다음 배치에 다시 넣지 않는다")
+    public void givenFailingListener_whenFlush_thenCheckpointAndNoReinsert() throws Exception {
+        // given
+        AtomicInteger published = new AtomicInteger();
+        ApplicationEventPublisher failingPublisher = event -> {
+            published.incrementAndGet();
+            throw new IllegalStateException("listener failure");
+        };
+        PostWriteBehind writeBehind = newWriteBehind(10, failingPublisher);
+        writeBehind.start();
+
+        try {
+            // when
+            Long first = writeBehind.enqueue("제목1", "내용1");
+            awaitSaved(first);
+            awaitJournalEmpty();
+
+            Long second = writeBehind.enqueue("제목2", "내용2");
+            awaitSaved(second);
+
+            // then
+            awaitJournalEmpty();
+            assertThat(postRepository.count()).isEqualTo(2L);
+            assertThat(published.get()).isEqualTo(2);
+        } finally {
+            writeBehind.stop();
+        }
+    }
+
+    private PostWriteBehind newWriteBehind(int queueCapacity) throws IOException {
+        return newWriteBehind(queueCapacity, eventPublisher);
+    }
+
+    private PostWriteBehind newWriteBehind(int queueCapacity, ApplicationEventPublisher publisher) throws IOException {
+        return new PostWriteBehind(jdbcTemplate, transactionManager, publisher, objectMapper,
+                new SimpleMeterRegistry(), queueCapacity, 100, journalDir, false, 1024 * 1024);
+    }
+
+    private void awaitJournalEmpty() throws Exception {
+        for (int i = 0; i < 50 && journalBytes() > 0; i++) {
+            Thread.sleep(100);
+        }
+        assertThat(journalBytes()).isZero();
+    }
+
+    private long journalBytes() throws IOException {
+        try (Stream<Path> files = Files.list(journalDir)) {
+            return files.mapToLong(file -> file.toFile().length()).sum();
+        }
+    }
+
+    private void awaitSaved(Long postId) throws InterruptedException {
+        for (int i = 0; i < 50 && !postRepository.existsById(postId); i++) {
+            Thread.sleep(100);
+        }
+        assertThat(postRepository.existsById(postId)).isTrue();
+    }
+}